@@ -0,0 +1,210 @@
+package com.example.cs360inventoryapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of mixed read/write throughput on the app's schema, with and without
+ * write-ahead logging. One writer thread adds items in batched transactions, as
+ * addItems does, while three reader threads load the dashboard folder list and a
+ * folder's contents, each on its own connection.
+ *
+ * In the default rollback journal mode readers wait while a write is being committed;
+ * in WAL mode they keep reading the last committed state. The reader throughput of
+ * the two journalMode runs shows the difference.
+ *
+ * Android's SQLite classes cannot run on a plain JVM, so this uses the same SQL
+ * through the sqlite-jdbc driver (org.xerial:sqlite-jdbc) on a database file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentAccessBenchmark {
+
+    private static final int FOLDER_COUNT = 50;
+    private static final int INITIAL_ITEMS = 20000;
+    private static final int WRITE_BATCH = 200;
+    private static final int BUSY_TIMEOUT_MILLIS = 10000;
+
+    private static final String SQL_FOLDERS = "SELECT id, name, user_id, created_at, item_count FROM folders" +
+            " WHERE user_id = ? ORDER BY name ASC";
+    private static final String SQL_FOLDER_ITEMS = "SELECT id, name, quantity, folder_id, created_at" +
+            " FROM inventory_items WHERE folder_id = ? AND user_id = ? ORDER BY quantity ASC, id ASC";
+    private static final String SQL_INSERT_ITEM = "INSERT INTO inventory_items(name, quantity, user_id, folder_id," +
+            " created_at) VALUES (?, ?, 1, ?, ?)";
+
+    /**
+     * The shared database file, created once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+        @Param({"DELETE", "WAL"})
+        public String journalMode;
+
+        File file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            file = File.createTempFile("inventoryManager", ".db");
+            try (Connection connection = open(this);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE folders(id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL," +
+                        " user_id INTEGER NOT NULL, created_at INTEGER NOT NULL," +
+                        " item_count INTEGER NOT NULL DEFAULT 0, UNIQUE(name, user_id))");
+                statement.execute("CREATE TABLE inventory_items(id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                        " name TEXT NOT NULL, quantity INTEGER NOT NULL DEFAULT 0, description TEXT, barcode TEXT," +
+                        " image_path TEXT, user_id INTEGER NOT NULL, folder_id INTEGER NOT NULL," +
+                        " created_at INTEGER NOT NULL)");
+                statement.execute("CREATE INDEX idx_items_folder_user_quantity ON inventory_items" +
+                        "(folder_id, user_id, quantity)");
+                statement.execute("CREATE TRIGGER trg_items_count_insert AFTER INSERT ON inventory_items BEGIN" +
+                        " UPDATE folders SET item_count = item_count + 1 WHERE id = NEW.folder_id; END");
+                for (int i = 1; i <= FOLDER_COUNT; i++) {
+                    statement.execute("INSERT INTO folders(name, user_id, created_at) VALUES ('Folder " + i + "', 1, 0)");
+                }
+
+                connection.setAutoCommit(false);
+                try (PreparedStatement insert = connection.prepareStatement(SQL_INSERT_ITEM)) {
+                    for (int i = 0; i < INITIAL_ITEMS; i++) {
+                        bindItem(insert, i);
+                        insert.executeUpdate();
+                    }
+                }
+                connection.commit();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            new File(file.getPath() + "-wal").delete();
+            new File(file.getPath() + "-shm").delete();
+            file.delete();
+        }
+    }
+
+    /**
+     * One connection per benchmark thread, like the connections in Android's pool.
+     */
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+        PreparedStatement folders;
+        PreparedStatement folderItems;
+        PreparedStatement insertItem;
+        int counter;
+
+        @Setup(Level.Trial)
+        public void setUp(Database database) throws SQLException {
+            connection = open(database);
+            folders = connection.prepareStatement(SQL_FOLDERS);
+            folderItems = connection.prepareStatement(SQL_FOLDER_ITEMS);
+            insertItem = connection.prepareStatement(SQL_INSERT_ITEM);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    private static Connection open(Database database) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.file.getPath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=" + database.journalMode);
+            statement.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+        }
+        return connection;
+    }
+
+    private static void bindItem(PreparedStatement insert, int i) throws SQLException {
+        insert.setString(1, "Item " + i);
+        insert.setInt(2, i % 97);
+        insert.setLong(3, i % FOLDER_COUNT + 1);
+        insert.setLong(4, i);
+    }
+
+    /**
+     * Adds one batch of items in a single transaction.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public int write(Session session) throws SQLException {
+        Connection connection = session.connection;
+        connection.setAutoCommit(false);
+        try {
+            for (int i = 0; i < WRITE_BATCH; i++) {
+                bindItem(session.insertItem, INITIAL_ITEMS + session.counter++);
+                session.insertItem.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return WRITE_BATCH;
+    }
+
+    /**
+     * Loads the folder list, then the contents of one folder.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public long read(Session session) throws SQLException {
+        long checksum = 0;
+        session.folders.setLong(1, 1);
+        try (ResultSet result = session.folders.executeQuery()) {
+            while (result.next()) {
+                checksum += result.getInt(5);
+            }
+        }
+
+        session.folderItems.setLong(1, session.counter++ % FOLDER_COUNT + 1);
+        session.folderItems.setLong(2, 1);
+        try (ResultSet result = session.folderItems.executeQuery()) {
+            while (result.next()) {
+                checksum += result.getLong(1);
+            }
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ConcurrentAccessBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.cs360inventoryapp.benchmarks;
+
+import com.example.cs360inventoryapp.data.models.InventoryCodec;
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing InventoryCodec with Java serialization for item lists.
+ * Setup checks that both encodings round-trip the list exactly and main() prints
+ * the encoded size of each before the timings are run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class InventoryCodecBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ArrayList<InventoryItem> items;
+    private byte[] codecBytes;
+    private byte[] serializedBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ClassNotFoundException {
+        items = createItems(size);
+        codecBytes = InventoryCodec.encodeItems(items);
+        serializedBytes = serialize(items);
+
+        checkRoundTrip(items, InventoryCodec.decodeItems(codecBytes), "InventoryCodec");
+        checkRoundTrip(items, deserialize(serializedBytes), "Serializable");
+    }
+
+    /**
+     * Items as they would be passed between screens, with barcodes and descriptions set.
+     */
+    static ArrayList<InventoryItem> createItems(int count) {
+        ArrayList<InventoryItem> items = new ArrayList<>(InventorySorterBenchmark.createItems(count, 42L));
+        for (int i = 0; i < count; i++) {
+            InventoryItem item = items.get(i);
+            item.setBarcode(String.valueOf(400000000000L + i * 7919L));
+            if (i % 3 == 0) {
+                item.setDescription("Stored in bin " + (i % 40) + ", reorder from main supplier");
+            }
+        }
+        return items;
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        return InventoryCodec.encodeItems(items);
+    }
+
+    @Benchmark
+    public List<InventoryItem> codecDecode() throws IOException {
+        return InventoryCodec.decodeItems(codecBytes);
+    }
+
+    @Benchmark
+    public byte[] serializableEncode() throws IOException {
+        return serialize(items);
+    }
+
+    @Benchmark
+    public List<InventoryItem> serializableDecode() throws IOException, ClassNotFoundException {
+        return deserialize(serializedBytes);
+    }
+
+    private static byte[] serialize(ArrayList<InventoryItem> items) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(items);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<InventoryItem> deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (List<InventoryItem>) in.readObject();
+        }
+    }
+
+    private static void checkRoundTrip(List<InventoryItem> expected, List<InventoryItem> actual, String codec) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException(codec + " returned " + actual.size() + " items, expected " + expected.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            InventoryItem a = expected.get(i);
+            InventoryItem b = actual.get(i);
+            boolean same = a.getId() == b.getId()
+                    && Objects.equals(a.getName(), b.getName())
+                    && a.getQuantity() == b.getQuantity()
+                    && Objects.equals(a.getDescription(), b.getDescription())
+                    && Objects.equals(a.getBarcode(), b.getBarcode())
+                    && Objects.equals(a.getImagePath(), b.getImagePath())
+                    && a.getFolderId() == b.getFolderId()
+                    && a.getCreatedAtMillis() == b.getCreatedAtMillis();
+            if (!same) {
+                throw new IllegalStateException(codec + " changed item " + i + ": " + a + " -> " + b);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        for (int count : new int[]{10, 1000, 100000}) {
+            ArrayList<InventoryItem> sample = createItems(count);
+            System.out.printf("%,d items: InventoryCodec %,d bytes, Serializable %,d bytes%n",
+                    count, InventoryCodec.encodeItems(sample).length, serialize(sample).length);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(InventoryCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,110 +1,351 @@
-package com.example.cs360inventoryapp.utils;
-
-import com.example.cs360inventoryapp.data.models.InventoryItem;
-import java.util.Comparator;
-
-/**
- * Collection of comparators for sorting inventory items by different criteria.
- */
-public class InventoryComparators {
-
-    /**
-     * Comparator for sorting by item name (case-insensitive).
-     */
-    public static class NameComparator implements Comparator<InventoryItem> {
-        @Override
-        public int compare(InventoryItem item1, InventoryItem item2) {
-            if (item1.getName() == null && item2.getName() == null) return 0;
-            if (item1.getName() == null) return 1;
-            if (item2.getName() == null) return -1;
-            return item1.getName().compareToIgnoreCase(item2.getName());
-        }
-    }
-
-    /**
-     * Comparator for sorting by item quantity.
-     */
-    public static class QuantityComparator implements Comparator<InventoryItem> {
-        @Override
-        public int compare(InventoryItem item1, InventoryItem item2) {
-            return Integer.compare(item1.getQuantity(), item2.getQuantity());
-        }
-    }
-
-    /**
-     * Comparator for sorting by creation date.
-     */
-    public static class DateComparator implements Comparator<InventoryItem> {
-        @Override
-        public int compare(InventoryItem item1, InventoryItem item2) {
-            if (item1.getCreatedAt() == null && item2.getCreatedAt() == null) return 0;
-            if (item1.getCreatedAt() == null) return 1;
-            if (item2.getCreatedAt() == null) return -1;
-            return item1.getCreatedAt().compareTo(item2.getCreatedAt());
-        }
-    }
-
-    /**
-     * Enum for sort criteria.
-     */
-    public enum SortCriteria {
-        NAME("Name"),
-        QUANTITY("Quantity"),
-        DATE("Date Added");
-
-        private final String displayName;
-
-        SortCriteria(String displayName) {
-            this.displayName = displayName;
-        }
-
-        public String getDisplayName() {
-            return displayName;
-        }
-    }
-
-    /**
-     * Enum for sort direction.
-     */
-    public enum SortDirection {
-        ASCENDING("Ascending"),
-        DESCENDING("Descending");
-
-        private final String displayName;
-
-        SortDirection(String displayName) {
-            this.displayName = displayName;
-        }
-
-        public String getDisplayName() {
-            return displayName;
-        }
-    }
-
-    /**
-     * Factory method to create appropriate comparator based on criteria and direction.
-     */
-    public static Comparator<InventoryItem> getComparator(SortCriteria criteria, SortDirection direction) {
-        Comparator<InventoryItem> comparator;
-
-        switch (criteria) {
-            case NAME:
-                comparator = new NameComparator();
-                break;
-            case QUANTITY:
-                comparator = new QuantityComparator();
-                break;
-            case DATE:
-                comparator = new DateComparator();
-                break;
-            default:
-                comparator = new NameComparator();
-        }
-
-        if (direction == SortDirection.DESCENDING) {
-            comparator = comparator.reversed();
-        }
-
-        return comparator;
-    }
-}
\ No newline at end of file
+package com.example.cs360inventoryapp.utils;
+
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collection of comparators for sorting inventory items by different criteria.
+ *
+ * Names are compared with the same collation as SQLite's NOCASE, which the folder
+ * queries sort by: only ASCII letters are case-folded, and other characters compare
+ * by code point. Rows sorted by SQLite and items placed by these comparators then
+ * always agree, including for non-ASCII names.
+ */
+public class InventoryComparators {
+
+    /**
+     * Comparator for sorting by item name (ASCII case-insensitive, like NOCASE).
+     */
+    public static class NameComparator implements Comparator<InventoryItem> {
+        @Override
+        public int compare(InventoryItem item1, InventoryItem item2) {
+            return compareNames(item1.getName(), item2.getName());
+        }
+    }
+
+    /**
+     * Builds the normalized sort key for an item name. ASCII letters are folded to lower
+     * case the way NOCASE folds them, so comparing two keys with compareNameKeys gives
+     * the same order as NameComparator without case-folding on every comparison.
+     *
+     * @param name The item name (may be null)
+     * @return The folded key, or null if the name is null
+     */
+    public static String nameKey(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        char[] folded = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char f = foldAscii(c);
+            if (f != c) {
+                if (folded == null) {
+                    folded = name.toCharArray();
+                }
+                folded[i] = f;
+            }
+        }
+
+        // Names that are already folded are used as their own key
+        return folded == null ? name : new String(folded);
+    }
+
+    /**
+     * Comparator for sorting by item name in natural order, where runs of digits are
+     * compared by numeric value so "Bolt M6 x 10" comes before "Bolt M6 x 100".
+     * Builds both keys on every call; InventorySorter builds them once per sort instead.
+     */
+    public static class NaturalNameComparator implements Comparator<InventoryItem> {
+        @Override
+        public int compare(InventoryItem item1, InventoryItem item2) {
+            return compareNameKeys(naturalNameKey(item1.getName()), naturalNameKey(item2.getName()));
+        }
+    }
+
+    /**
+     * Builds the natural-order sort key for an item name. ASCII letters are case-folded
+     * like {@link #nameKey(String)}. Each run of digits becomes a '0' marker, a character
+     * holding the digit count without leading zeros, and the significant digits, so a
+     * plain compareTo orders shorter (smaller) numbers first and equal-length numbers
+     * digit by digit when compared with compareNameKeys. The marker sorts against
+     * letters the same way any digit would.
+     *
+     * @param name The item name (may be null)
+     * @return The natural key, or null if the name is null
+     */
+    public static String naturalNameKey(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(name.length() + 8);
+        int i = 0;
+        while (i < name.length()) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                key.append(foldAscii(c));
+                i++;
+                continue;
+            }
+
+            // Skip leading zeros, keeping at least one digit
+            int runEnd = i;
+            while (runEnd < name.length() && name.charAt(runEnd) >= '0' && name.charAt(runEnd) <= '9') {
+                runEnd++;
+            }
+            int significant = i;
+            while (significant < runEnd - 1 && name.charAt(significant) == '0') {
+                significant++;
+            }
+
+            key.append('0').append((char) (runEnd - significant)).append(name, significant, runEnd);
+            i = runEnd;
+        }
+        return key.toString();
+    }
+
+    /**
+     * Compares two name keys built by {@link #nameKey(String)} in code point order,
+     * keeping null names last.
+     */
+    public static int compareNameKeys(String key1, String key2) {
+        if (key1 == null && key2 == null) return 0;
+        if (key1 == null) return 1;
+        if (key2 == null) return -1;
+        int length = Math.min(key1.length(), key2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = key1.charAt(i);
+            char c2 = key2.charAt(i);
+            if (c1 != c2) {
+                return compareChars(c1, c2);
+            }
+        }
+        return key1.length() - key2.length();
+    }
+
+    /**
+     * Comparator for sorting by item quantity.
+     */
+    public static class QuantityComparator implements Comparator<InventoryItem> {
+        @Override
+        public int compare(InventoryItem item1, InventoryItem item2) {
+            return Integer.compare(item1.getQuantity(), item2.getQuantity());
+        }
+    }
+
+    /**
+     * Comparator for sorting by creation date.
+     */
+    public static class DateComparator implements Comparator<InventoryItem> {
+        @Override
+        public int compare(InventoryItem item1, InventoryItem item2) {
+            return compareTimestamps(item1.getCreatedAtMillis(), item2.getCreatedAtMillis());
+        }
+    }
+
+    /**
+     * Compares two names with ASCII-only case folding, like NOCASE, keeping null names last.
+     */
+    public static int compareNames(String name1, String name2) {
+        if (name1 == null && name2 == null) return 0;
+        if (name1 == null) return 1;
+        if (name2 == null) return -1;
+        int length = Math.min(name1.length(), name2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = foldAscii(name1.charAt(i));
+            char c2 = foldAscii(name2.charAt(i));
+            if (c1 != c2) {
+                return compareChars(c1, c2);
+            }
+        }
+        return name1.length() - name2.length();
+    }
+
+    private static char foldAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Compares two different UTF-16 chars in code point order, which is the order
+     * SQLite compares UTF-8 text in. Surrogates encode code points above U+FFFF, so
+     * they are moved above U+E000-U+FFFF, which they precede as plain chars.
+     */
+    private static int compareChars(char c1, char c2) {
+        if (c1 >= Character.MIN_SURROGATE && c2 >= Character.MIN_SURROGATE) {
+            c1 += c1 >= 0xE000 ? -0x800 : 0x2000;
+            c2 += c2 >= 0xE000 ? -0x800 : 0x2000;
+        }
+        return c1 - c2;
+    }
+
+    /**
+     * Compares two creation times in epoch milliseconds, keeping missing
+     * times (InventoryItem.NO_TIMESTAMP) last.
+     */
+    public static int compareTimestamps(long time1, long time2) {
+        if (time1 == time2) return 0;
+        if (time1 == InventoryItem.NO_TIMESTAMP) return 1;
+        if (time2 == InventoryItem.NO_TIMESTAMP) return -1;
+        return Long.compare(time1, time2);
+    }
+
+    /**
+     * One level of a multi-level sort: the field to compare and its direction.
+     */
+    public static class SortKey {
+        private final SortCriteria criteria;
+        private final SortDirection direction;
+
+        public SortKey(SortCriteria criteria, SortDirection direction) {
+            this.criteria = criteria;
+            this.direction = direction;
+        }
+
+        public SortCriteria getCriteria() {
+            return criteria;
+        }
+
+        public SortDirection getDirection() {
+            return direction;
+        }
+    }
+
+    /**
+     * Comparator for multi-level sorting (e.g. quantity, then name, then date).
+     * The levels are flattened into arrays when the comparator is built, so each
+     * comparison is a single loop instead of a chain of nested comparator calls.
+     * Items that tie on every level are ordered by ID for a deterministic result.
+     * Keys are not cached: a NAME_NATURAL level tokenizes both names on every call,
+     * like NaturalNameComparator. To sort a whole list, use
+     * InventorySorter.sort(items, keys), which extracts every level's keys once.
+     */
+    public static class CompositeComparator implements Comparator<InventoryItem> {
+        private final SortCriteria[] criteria;
+        private final int[] signs;
+
+        public CompositeComparator(SortKey... keys) {
+            criteria = new SortCriteria[keys.length];
+            signs = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                criteria[i] = keys[i].getCriteria();
+                signs[i] = keys[i].getDirection() == SortDirection.DESCENDING ? -1 : 1;
+            }
+        }
+
+        @Override
+        public int compare(InventoryItem item1, InventoryItem item2) {
+            for (int i = 0; i < criteria.length; i++) {
+                int result;
+                switch (criteria[i]) {
+                    case QUANTITY:
+                        result = Integer.compare(item1.getQuantity(), item2.getQuantity());
+                        break;
+                    case DATE:
+                        result = compareTimestamps(item1.getCreatedAtMillis(), item2.getCreatedAtMillis());
+                        break;
+                    case NAME_NATURAL:
+                        result = compareNameKeys(naturalNameKey(item1.getName()), naturalNameKey(item2.getName()));
+                        break;
+                    case NAME:
+                    default:
+                        result = compareNames(item1.getName(), item2.getName());
+                }
+                if (result != 0) {
+                    return signs[i] * Integer.signum(result);
+                }
+            }
+            return Long.compare(item1.getId(), item2.getId());
+        }
+    }
+
+    /**
+     * Enum for sort criteria.
+     */
+    public enum SortCriteria {
+        NAME("Name"),
+        NAME_NATURAL("Name (Natural)"),
+        QUANTITY("Quantity"),
+        DATE("Date Added");
+
+        private final String displayName;
+
+        SortCriteria(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Enum for sort direction.
+     */
+    public enum SortDirection {
+        ASCENDING("Ascending"),
+        DESCENDING("Descending");
+
+        private final String displayName;
+
+        SortDirection(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    // Comparators are stateless, so one instance per (criteria, direction) pair is shared
+    private static final Map<SortCriteria, Map<SortDirection, Comparator<InventoryItem>>> COMPARATOR_CACHE =
+            buildComparatorCache();
+
+    private static Map<SortCriteria, Map<SortDirection, Comparator<InventoryItem>>> buildComparatorCache() {
+        Map<SortCriteria, Map<SortDirection, Comparator<InventoryItem>>> cache = new EnumMap<>(SortCriteria.class);
+
+        for (SortCriteria criteria : SortCriteria.values()) {
+            Comparator<InventoryItem> comparator;
+            switch (criteria) {
+                case NAME:
+                    comparator = new NameComparator();
+                    break;
+                case QUANTITY:
+                    comparator = new QuantityComparator();
+                    break;
+                case DATE:
+                    comparator = new DateComparator();
+                    break;
+                case NAME_NATURAL:
+                    comparator = new NaturalNameComparator();
+                    break;
+                default:
+                    comparator = new NameComparator();
+            }
+            Map<SortDirection, Comparator<InventoryItem>> directions = new EnumMap<>(SortDirection.class);
+            directions.put(SortDirection.ASCENDING, comparator);
+            directions.put(SortDirection.DESCENDING, comparator.reversed());
+            cache.put(criteria, directions);
+        }
+        return cache;
+    }
+
+    /**
+     * Factory method to get the appropriate comparator based on criteria and direction.
+     * Returns a cached instance, so repeated calls do not allocate.
+     */
+    public static Comparator<InventoryItem> getComparator(SortCriteria criteria, SortDirection direction) {
+        return COMPARATOR_CACHE.get(criteria).get(direction);
+    }
+
+    /**
+     * Factory method to create a multi-level comparator. The first key is the primary
+     * ordering and each following key breaks ties left by the previous ones.
+     */
+    public static Comparator<InventoryItem> getComparator(SortKey... keys) {
+        return new CompositeComparator(keys);
+    }
+}
@@ -1,73 +1,988 @@
-package com.example.cs360inventoryapp.utils;
-
-import com.example.cs360inventoryapp.data.models.InventoryItem;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-
-/**
- * Utility class for sorting inventory items using Merge Sort algorithm.
- * Provides O(n log n) performance with stable sorting.
- */
-public class InventorySorter {
-
-    /**
-     * Sorts a list of inventory items using Merge Sort algorithm.
-     *
-     * @param items The list of items to sort
-     * @param comparator The comparator to use for ordering
-     * @return A new sorted list (original list is not modified)
-     */
-    public static List<InventoryItem> mergeSort(List<InventoryItem> items, Comparator<InventoryItem> comparator) {
-        if (items == null || items.size() <= 1) {
-            return new ArrayList<>(items != null ? items : new ArrayList<>());
-        }
-
-        // Divide: Find the middle of the list
-        int middle = items.size() / 2;
-        List<InventoryItem> leftHalf = new ArrayList<>(items.subList(0, middle));
-        List<InventoryItem> rightHalf = new ArrayList<>(items.subList(middle, items.size()));
-
-        // Conquer: Recursively sort both halves
-        List<InventoryItem> sortedLeft = mergeSort(leftHalf, comparator);
-        List<InventoryItem> sortedRight = mergeSort(rightHalf, comparator);
-
-        // Combine: Merge the sorted halves
-        return merge(sortedLeft, sortedRight, comparator);
-    }
-
-    /**
-     * Merges two sorted lists into one sorted list.
-     */
-    private static List<InventoryItem> merge(List<InventoryItem> left, List<InventoryItem> right,
-                                             Comparator<InventoryItem> comparator) {
-        List<InventoryItem> result = new ArrayList<>();
-        int leftIndex = 0;
-        int rightIndex = 0;
-
-        // Merge elements while both lists have remaining items
-        while (leftIndex < left.size() && rightIndex < right.size()) {
-            if (comparator.compare(left.get(leftIndex), right.get(rightIndex)) <= 0) {
-                result.add(left.get(leftIndex));
-                leftIndex++;
-            } else {
-                result.add(right.get(rightIndex));
-                rightIndex++;
-            }
-        }
-
-        // Add any remaining elements from left list
-        while (leftIndex < left.size()) {
-            result.add(left.get(leftIndex));
-            leftIndex++;
-        }
-
-        // Add any remaining elements from right list
-        while (rightIndex < right.size()) {
-            result.add(right.get(rightIndex));
-            rightIndex++;
-        }
-
-        return result;
-    }
-}
\ No newline at end of file
+package com.example.cs360inventoryapp.utils;
+
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortCriteria;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortDirection;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortKey;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Utility class for sorting inventory items using Merge Sort algorithm.
+ * Provides O(n log n) performance with stable sorting.
+ *
+ * Sorted results are fixed-size lists backed by the array that was sorted, so
+ * returning them does not copy the items again. This holds for every input size,
+ * including empty and single-item lists. Copy a result into an ArrayList before
+ * adding or removing items.
+ */
+public class InventorySorter {
+
+    // Runs of this size are sorted with insertion sort before merging begins
+    private static final int INSERTION_SORT_RUN = 16;
+
+    // Natural runs shorter than this (scaled by list size) are extended with insertion sort
+    private static final int MIN_MERGE = 32;
+
+    // Consecutive wins by one run before a merge switches to galloping
+    private static final int MIN_GALLOP = 7;
+
+    // Lists smaller than this use Merge Sort instead of Radix Sort for numeric criteria
+    private static final int RADIX_SORT_THRESHOLD = 64;
+
+    // Radix Sort processes one byte of the key per pass
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    // Lists smaller than this are sorted sequentially by parallelMergeSort
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    // Ranges at or below this size are sorted or merged on a single thread
+    private static final int MIN_PARALLEL_GRANULARITY = 2048;
+
+    /**
+     * Sorts a list of inventory items by the given criteria and direction, picking
+     * the fastest stable path available for that criteria.
+     *
+     * @param items The list of items to sort
+     * @param criteria The field to sort by
+     * @param direction The sort direction
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> sort(List<InventoryItem> items, SortCriteria criteria, SortDirection direction) {
+        switch (criteria) {
+            case NAME:
+                return sortByName(items, direction);
+            case NAME_NATURAL:
+                return sortByNaturalName(items, direction);
+            case QUANTITY:
+                return radixSortByQuantity(items, direction);
+            case DATE:
+                return radixSortByDate(items, direction);
+            default:
+                return parallelMergeSort(items, InventoryComparators.getComparator(criteria, direction));
+        }
+    }
+
+    /**
+     * Sorts a list of inventory items by several levels, in the same order as
+     * {@link InventoryComparators#getComparator(SortKey...)}. The key of every level,
+     * including tokenized natural name keys, is extracted once per item up front
+     * instead of on every comparison (see {@link SortKeyColumns#sortedPermutation(SortKey...)}).
+     *
+     * @param items The list of items to sort
+     * @param keys The levels, primary first
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> sort(List<InventoryItem> items, SortKey... keys) {
+        if (items == null || items.size() <= 1) {
+            return copyOf(items);
+        }
+
+        int[] permutation = new SortKeyColumns(items).sortedPermutation(keys);
+        InventoryItem[] sorted = new InventoryItem[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            sorted[i] = items.get(permutation[i]);
+        }
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Sorts a list of inventory items by quantity using a stable LSD Radix Sort over
+     * the extracted int quantities, giving linear time for large folders.
+     *
+     * @param items The list of items to sort
+     * @param direction The sort direction
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> radixSortByQuantity(List<InventoryItem> items, SortDirection direction) {
+        if (items == null || items.size() < RADIX_SORT_THRESHOLD) {
+            return mergeSort(items, InventoryComparators.getComparator(SortCriteria.QUANTITY, direction));
+        }
+
+        InventoryItem[] sorted = items.toArray(new InventoryItem[0]);
+        long[] keys = new long[sorted.length];
+        boolean descending = direction == SortDirection.DESCENDING;
+        for (int i = 0; i < sorted.length; i++) {
+            // Flipping the sign bit makes the signed quantity sort correctly as an unsigned key
+            int key = sorted[i].getQuantity() ^ Integer.MIN_VALUE;
+            keys[i] = (descending ? ~key : key) & 0xFFFFFFFFL;
+        }
+        radixSort(sorted, keys, sorted.length, Integer.BYTES);
+
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Sorts a list of inventory items by creation date using a stable LSD Radix Sort
+     * over the extracted long timestamps. Items without a date keep the same position
+     * as with DateComparator: last when ascending and first when descending.
+     *
+     * @param items The list of items to sort
+     * @param direction The sort direction
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> radixSortByDate(List<InventoryItem> items, SortDirection direction) {
+        if (items == null || items.size() < RADIX_SORT_THRESHOLD) {
+            return mergeSort(items, InventoryComparators.getComparator(SortCriteria.DATE, direction));
+        }
+
+        int length = items.size();
+        boolean descending = direction == SortDirection.DESCENDING;
+        InventoryItem[] sorted = new InventoryItem[length];
+        long[] keys = new long[length];
+
+        // Stable partition: dated items are radix sorted, undated items keep their input order
+        int datedCount = 0;
+        for (InventoryItem item : items) {
+            if (item.hasCreatedAt()) {
+                datedCount++;
+            }
+        }
+        int datedOffset = descending ? length - datedCount : 0;
+        int undatedIndex = descending ? 0 : datedCount;
+        int datedIndex = 0;
+        for (InventoryItem item : items) {
+            if (!item.hasCreatedAt()) {
+                sorted[undatedIndex++] = item;
+            } else {
+                // Flipping the sign bit makes the signed timestamp sort correctly as an unsigned key
+                long key = item.getCreatedAtMillis() ^ Long.MIN_VALUE;
+                keys[datedIndex] = descending ? ~key : key;
+                sorted[datedOffset + datedIndex++] = item;
+            }
+        }
+
+        if (datedOffset == 0) {
+            radixSort(sorted, keys, datedCount, Long.BYTES);
+        } else {
+            InventoryItem[] dated = Arrays.copyOfRange(sorted, datedOffset, length);
+            radixSort(dated, keys, datedCount, Long.BYTES);
+            System.arraycopy(dated, 0, sorted, datedOffset, datedCount);
+        }
+
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Sorts a list of inventory items by name. The case-folded name key of each item
+     * is computed once up front and the keys are merged alongside the items, so the
+     * order matches NameComparator (null names last) without re-folding per comparison.
+     *
+     * @param items The list of items to sort
+     * @param direction The sort direction
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> sortByName(List<InventoryItem> items, SortDirection direction) {
+        return sortByNameKeys(items, direction, false);
+    }
+
+    /**
+     * Sorts a list of inventory items by name in natural order, comparing digit runs
+     * by numeric value. Each name is tokenized into its natural key once per sort, so
+     * comparisons are plain string comparisons like {@link #sortByName}.
+     *
+     * @param items The list of items to sort
+     * @param direction The sort direction
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> sortByNaturalName(List<InventoryItem> items, SortDirection direction) {
+        return sortByNameKeys(items, direction, true);
+    }
+
+    /**
+     * Returns a fixed-size copy of a list with nothing to sort, so small inputs get
+     * the same kind of list as sorted ones. A null list gives an empty list.
+     */
+    private static List<InventoryItem> copyOf(List<InventoryItem> items) {
+        return Arrays.asList(items != null ? items.toArray(new InventoryItem[0]) : new InventoryItem[0]);
+    }
+
+    private static List<InventoryItem> sortByNameKeys(List<InventoryItem> items, SortDirection direction,
+                                                      boolean natural) {
+        if (items == null || items.size() <= 1) {
+            return copyOf(items);
+        }
+
+        InventoryItem[] sorted = items.toArray(new InventoryItem[0]);
+        String[] keys = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            String name = sorted[i].getName();
+            keys[i] = natural ? InventoryComparators.naturalNameKey(name) : InventoryComparators.nameKey(name);
+        }
+
+        int sign = direction == SortDirection.DESCENDING ? -1 : 1;
+        keyedMergeSort(sorted, keys, sign);
+
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Selects the first k items of the order defined by the comparator without sorting
+     * the whole list, e.g. the 20 lowest-quantity items with
+     * {@code topK(items, InventoryComparators.getComparator(SortCriteria.QUANTITY, SortDirection.ASCENDING), 20)}.
+     * Uses a bounded max-heap of size k, so it runs in O(n log k). Ties are resolved by
+     * list position, giving the same items and order as the first k of a stable sort.
+     *
+     * @param items The list of items to select from
+     * @param comparator The comparator to use for ordering
+     * @param k The number of items to return
+     * @return A new fixed-size sorted list of at most k items (original list is not modified)
+     */
+    public static List<InventoryItem> topK(List<InventoryItem> items, Comparator<InventoryItem> comparator, int k) {
+        if (items == null || k <= 0) {
+            return Arrays.asList(new InventoryItem[0]);
+        }
+
+        InventoryItem[] candidates = items.toArray(new InventoryItem[0]);
+        int heapSize = 0;
+        int[] heap = new int[Math.min(k, candidates.length)];
+
+        for (int i = 0; i < candidates.length; i++) {
+            if (heapSize < heap.length) {
+                // Sift the new index up from the bottom of the heap
+                int child = heapSize++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (ranksAfter(candidates, heap[parent], i, comparator)) {
+                        break;
+                    }
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = i;
+            } else if (ranksAfter(candidates, heap[0], i, comparator)) {
+                // The new item beats the worst kept item, so it replaces the root
+                siftDown(candidates, heap, heapSize, i, comparator);
+            }
+        }
+
+        // Pop the worst item each time to fill the result from the back
+        InventoryItem[] selected = new InventoryItem[heapSize];
+        while (heapSize > 0) {
+            selected[heapSize - 1] = candidates[heap[0]];
+            heapSize--;
+            if (heapSize > 0) {
+                siftDown(candidates, heap, heapSize, heap[heapSize], comparator);
+            }
+        }
+
+        return Arrays.asList(selected);
+    }
+
+    /**
+     * Sorts a list of inventory items using an adaptive (TimSort-style) Merge Sort.
+     * Existing ascending and strictly descending runs are detected and merged with
+     * galloping, so already sorted or reverse-sorted lists take close to linear time.
+     * Stable, like {@link #mergeSort}.
+     *
+     * @param items The list of items to sort
+     * @param comparator The comparator to use for ordering
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> adaptiveMergeSort(List<InventoryItem> items, Comparator<InventoryItem> comparator) {
+        if (items == null || items.size() <= 1) {
+            return copyOf(items);
+        }
+
+        InventoryItem[] sorted = items.toArray(new InventoryItem[0]);
+        new RunMerger(sorted, comparator).sort();
+
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Sorts a list of inventory items using an iterative (bottom-up) Merge Sort.
+     * The items are copied into an array and merged back and forth between that
+     * array and a single scratch buffer, so no per-level lists are allocated.
+     *
+     * @param items The list of items to sort
+     * @param comparator The comparator to use for ordering
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> mergeSort(List<InventoryItem> items, Comparator<InventoryItem> comparator) {
+        if (items == null || items.size() <= 1) {
+            return copyOf(items);
+        }
+
+        InventoryItem[] sorted = items.toArray(new InventoryItem[0]);
+        InventoryItem[] buffer = new InventoryItem[sorted.length];
+        mergeSort(sorted, buffer, 0, sorted.length, comparator);
+
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Sorts a list of inventory items using a parallel Merge Sort on the common
+     * ForkJoinPool once the list reaches {@link #DEFAULT_PARALLEL_THRESHOLD} items.
+     *
+     * @param items The list of items to sort
+     * @param comparator The comparator to use for ordering
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> parallelMergeSort(List<InventoryItem> items, Comparator<InventoryItem> comparator) {
+        return parallelMergeSort(items, comparator, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Sorts a list of inventory items using a parallel Merge Sort. Both halves of each
+     * range are sorted as separate fork/join tasks and then merged in parallel.
+     * Lists below the threshold fall back to the sequential {@link #mergeSort}.
+     * The result is identical to the sequential stable sort.
+     *
+     * @param items The list of items to sort
+     * @param comparator The comparator to use for ordering
+     * @param threshold The minimum list size that is sorted in parallel
+     * @return A new fixed-size sorted list (original list is not modified)
+     */
+    public static List<InventoryItem> parallelMergeSort(List<InventoryItem> items, Comparator<InventoryItem> comparator,
+                                                        int threshold) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (items == null || items.size() < threshold || pool.getParallelism() <= 1) {
+            return mergeSort(items, comparator);
+        }
+
+        InventoryItem[] sorted = items.toArray(new InventoryItem[0]);
+        InventoryItem[] buffer = new InventoryItem[sorted.length];
+
+        // Split until each thread gets a few chunks, but never below the minimum granularity
+        int granularity = Math.max(MIN_PARALLEL_GRANULARITY, sorted.length / (pool.getParallelism() * 4));
+        pool.invoke(new SortTask(sorted, buffer, 0, sorted.length, granularity, comparator));
+
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Sorts the range [from, to) of an array in place using bottom-up Merge Sort.
+     * The buffer must be at least as long as the array and is used as scratch space
+     * for every merge pass; the sorted result always ends up back in the array.
+     */
+    static void mergeSort(InventoryItem[] items, InventoryItem[] buffer, int from, int to,
+                          Comparator<InventoryItem> comparator) {
+        // Sort small fixed-size runs first so the merge passes start at a larger width
+        for (int runStart = from; runStart < to; runStart += INSERTION_SORT_RUN) {
+            insertionSort(items, runStart, Math.min(runStart + INSERTION_SORT_RUN, to), comparator);
+        }
+
+        // Merge runs of doubling width, alternating between the array and the buffer
+        InventoryItem[] source = items;
+        InventoryItem[] target = buffer;
+        for (int width = INSERTION_SORT_RUN; width < to - from; width *= 2) {
+            for (int left = from; left < to; left += 2 * width) {
+                int middle = Math.min(left + width, to);
+                int right = Math.min(left + 2 * width, to);
+                merge(source, target, left, middle, right, comparator);
+            }
+            InventoryItem[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        // Copy back if the last pass wrote into the buffer
+        if (source != items) {
+            System.arraycopy(source, from, items, from, to - from);
+        }
+    }
+
+    /**
+     * Bottom-up Merge Sort of the items by their precomputed name keys. Items and keys
+     * are moved together; the sign is -1 to reverse the key order for descending sorts.
+     */
+    private static void keyedMergeSort(InventoryItem[] items, String[] keys, int sign) {
+        int length = items.length;
+
+        // Insertion sort the short runs first
+        for (int runStart = 0; runStart < length; runStart += INSERTION_SORT_RUN) {
+            int runEnd = Math.min(runStart + INSERTION_SORT_RUN, length);
+            for (int i = runStart + 1; i < runEnd; i++) {
+                InventoryItem currentItem = items[i];
+                String currentKey = keys[i];
+                int j = i - 1;
+                while (j >= runStart && sign * InventoryComparators.compareNameKeys(keys[j], currentKey) > 0) {
+                    items[j + 1] = items[j];
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                items[j + 1] = currentItem;
+                keys[j + 1] = currentKey;
+            }
+        }
+
+        InventoryItem[] sourceItems = items;
+        String[] sourceKeys = keys;
+        InventoryItem[] targetItems = new InventoryItem[length];
+        String[] targetKeys = new String[length];
+
+        for (int width = INSERTION_SORT_RUN; width < length; width *= 2) {
+            for (int left = 0; left < length; left += 2 * width) {
+                int middle = Math.min(left + width, length);
+                int right = Math.min(left + 2 * width, length);
+                int leftIndex = left;
+                int rightIndex = middle;
+                int targetIndex = left;
+
+                while (leftIndex < middle && rightIndex < right) {
+                    if (sign * InventoryComparators.compareNameKeys(sourceKeys[leftIndex], sourceKeys[rightIndex]) <= 0) {
+                        targetKeys[targetIndex] = sourceKeys[leftIndex];
+                        targetItems[targetIndex++] = sourceItems[leftIndex++];
+                    } else {
+                        targetKeys[targetIndex] = sourceKeys[rightIndex];
+                        targetItems[targetIndex++] = sourceItems[rightIndex++];
+                    }
+                }
+                System.arraycopy(sourceKeys, leftIndex, targetKeys, targetIndex, middle - leftIndex);
+                System.arraycopy(sourceItems, leftIndex, targetItems, targetIndex, middle - leftIndex);
+                targetIndex += middle - leftIndex;
+                System.arraycopy(sourceKeys, rightIndex, targetKeys, targetIndex, right - rightIndex);
+                System.arraycopy(sourceItems, rightIndex, targetItems, targetIndex, right - rightIndex);
+            }
+
+            InventoryItem[] swapItems = sourceItems;
+            sourceItems = targetItems;
+            targetItems = swapItems;
+            String[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+        }
+
+        // Copy back if the last pass wrote into the buffers
+        if (sourceItems != items) {
+            System.arraycopy(sourceItems, 0, items, 0, length);
+        }
+    }
+
+    /**
+     * Stable LSD Radix Sort of the first length items by their unsigned keys, one byte
+     * per pass starting from the least significant. Passes where every key has the same
+     * byte are skipped since they would not change the order.
+     */
+    private static void radixSort(InventoryItem[] items, long[] keys, int length, int keyBytes) {
+        InventoryItem[] sourceItems = items;
+        long[] sourceKeys = keys;
+        InventoryItem[] targetItems = new InventoryItem[length];
+        long[] targetKeys = new long[length];
+        int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < keyBytes * RADIX_BITS; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[(int) (sourceKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (counts[(int) (sourceKeys[0] >>> shift) & (RADIX - 1)] == length) {
+                continue;
+            }
+
+            // Turn the counts into starting offsets for each digit
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+
+            for (int i = 0; i < length; i++) {
+                int position = counts[(int) (sourceKeys[i] >>> shift) & (RADIX - 1)]++;
+                targetKeys[position] = sourceKeys[i];
+                targetItems[position] = sourceItems[i];
+            }
+
+            InventoryItem[] swapItems = sourceItems;
+            sourceItems = targetItems;
+            targetItems = swapItems;
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+        }
+
+        // Copy back if the last pass wrote into the buffers
+        if (sourceItems != items) {
+            System.arraycopy(sourceItems, 0, items, 0, length);
+        }
+    }
+
+    /**
+     * Returns true if the item at index first comes after the item at index second,
+     * using the list position to order equal items.
+     */
+    private static boolean ranksAfter(InventoryItem[] items, int first, int second,
+                                      Comparator<InventoryItem> comparator) {
+        int result = comparator.compare(items[first], items[second]);
+        return result > 0 || (result == 0 && first > second);
+    }
+
+    /**
+     * Places the given index at the root of the max-heap and sifts it down to its place.
+     */
+    private static void siftDown(InventoryItem[] items, int[] heap, int heapSize, int index,
+                                 Comparator<InventoryItem> comparator) {
+        int parent = 0;
+        int half = heapSize >>> 1;
+        while (parent < half) {
+            int child = 2 * parent + 1;
+            int right = child + 1;
+            if (right < heapSize && ranksAfter(items, heap[right], heap[child], comparator)) {
+                child = right;
+            }
+            if (!ranksAfter(items, heap[child], index, comparator)) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = index;
+    }
+
+    /**
+     * Stable insertion sort of the range [from, to), used for the initial short runs.
+     */
+    private static void insertionSort(InventoryItem[] items, int from, int to,
+                                      Comparator<InventoryItem> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            InventoryItem current = items[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(items[j], current) > 0) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = current;
+        }
+    }
+
+    /**
+     * Merges the sorted ranges [left, middle) and [middle, right) of the source
+     * array into the same positions of the target array.
+     */
+    static void merge(InventoryItem[] source, InventoryItem[] target, int left, int middle, int right,
+                      Comparator<InventoryItem> comparator) {
+        int leftIndex = left;
+        int rightIndex = middle;
+        int targetIndex = left;
+
+        // Merge elements while both ranges have remaining items (ties take the left item to stay stable)
+        while (leftIndex < middle && rightIndex < right) {
+            if (comparator.compare(source[leftIndex], source[rightIndex]) <= 0) {
+                target[targetIndex++] = source[leftIndex++];
+            } else {
+                target[targetIndex++] = source[rightIndex++];
+            }
+        }
+
+        // Add any remaining elements from the left range
+        if (leftIndex < middle) {
+            System.arraycopy(source, leftIndex, target, targetIndex, middle - leftIndex);
+        }
+
+        // Add any remaining elements from the right range
+        if (rightIndex < right) {
+            System.arraycopy(source, rightIndex, target, targetIndex, right - rightIndex);
+        }
+    }
+
+    /**
+     * Fork/join task that sorts the range [from, to) of an array in place.
+     */
+    private static class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final InventoryItem[] items;
+        private final InventoryItem[] buffer;
+        private final int from;
+        private final int to;
+        private final int granularity;
+        private final Comparator<InventoryItem> comparator;
+
+        SortTask(InventoryItem[] items, InventoryItem[] buffer, int from, int to, int granularity,
+                 Comparator<InventoryItem> comparator) {
+            this.items = items;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                mergeSort(items, buffer, from, to, comparator);
+                return;
+            }
+
+            // Sort both halves in parallel
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(items, buffer, from, middle, granularity, comparator),
+                    new SortTask(items, buffer, middle, to, granularity, comparator));
+
+            // Merge the halves into the buffer in parallel, then copy the result back
+            new MergeTask(items, buffer, from, middle, middle, to, from, granularity, comparator).compute();
+            System.arraycopy(buffer, from, items, from, to - from);
+        }
+    }
+
+    /**
+     * Fork/join task that merges the sorted source ranges [leftFrom, leftTo) and
+     * [rightFrom, rightTo) into the target array starting at targetFrom. Large merges
+     * are split around a pivot found by binary search so both parts run in parallel.
+     */
+    private static class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final InventoryItem[] source;
+        private final InventoryItem[] target;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final int targetFrom;
+        private final int granularity;
+        private final Comparator<InventoryItem> comparator;
+
+        MergeTask(InventoryItem[] source, InventoryItem[] target, int leftFrom, int leftTo,
+                  int rightFrom, int rightTo, int targetFrom, int granularity,
+                  Comparator<InventoryItem> comparator) {
+            this.source = source;
+            this.target = target;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.targetFrom = targetFrom;
+            this.granularity = granularity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            int leftSize = leftTo - leftFrom;
+            int rightSize = rightTo - rightFrom;
+
+            if (leftSize + rightSize <= granularity || leftSize == 0 || rightSize == 0) {
+                mergeRanges();
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+            if (leftSize >= rightSize) {
+                // Right items equal to the pivot must stay after it to keep the merge stable
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = lowerBound(source, rightFrom, rightTo, source[leftSplit], comparator);
+            } else {
+                // Left items equal to the pivot must stay before it to keep the merge stable
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = upperBound(source, leftFrom, leftTo, source[rightSplit], comparator);
+            }
+
+            int secondTargetFrom = targetFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+            invokeAll(new MergeTask(source, target, leftFrom, leftSplit, rightFrom, rightSplit,
+                            targetFrom, granularity, comparator),
+                    new MergeTask(source, target, leftSplit, leftTo, rightSplit, rightTo,
+                            secondTargetFrom, granularity, comparator));
+        }
+
+        private void mergeRanges() {
+            int leftIndex = leftFrom;
+            int rightIndex = rightFrom;
+            int targetIndex = targetFrom;
+
+            while (leftIndex < leftTo && rightIndex < rightTo) {
+                if (comparator.compare(source[leftIndex], source[rightIndex]) <= 0) {
+                    target[targetIndex++] = source[leftIndex++];
+                } else {
+                    target[targetIndex++] = source[rightIndex++];
+                }
+            }
+            if (leftIndex < leftTo) {
+                System.arraycopy(source, leftIndex, target, targetIndex, leftTo - leftIndex);
+            } else if (rightIndex < rightTo) {
+                System.arraycopy(source, rightIndex, target, targetIndex, rightTo - rightIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns the first index in [from, to) whose item is not less than the key.
+     */
+    private static int lowerBound(InventoryItem[] items, int from, int to, InventoryItem key,
+                                  Comparator<InventoryItem> comparator) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(items[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first index in [from, to) whose item is greater than the key.
+     */
+    private static int upperBound(InventoryItem[] items, int from, int to, InventoryItem key,
+                                  Comparator<InventoryItem> comparator) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(items[middle], key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds natural runs in an array and merges them TimSort-style. Runs are kept on a
+     * stack whose lengths grow quickly from top to bottom, which keeps merges balanced.
+     */
+    private static class RunMerger {
+        private final InventoryItem[] items;
+        private final InventoryItem[] buffer;
+        private final Comparator<InventoryItem> comparator;
+        private final int[] runBase = new int[49];
+        private final int[] runLength = new int[49];
+        private int stackSize = 0;
+
+        RunMerger(InventoryItem[] items, Comparator<InventoryItem> comparator) {
+            this.items = items;
+            this.buffer = new InventoryItem[items.length];
+            this.comparator = comparator;
+        }
+
+        void sort() {
+            int length = items.length;
+            int minRun = minRunLength(length);
+
+            int low = 0;
+            while (low < length) {
+                int runEnd = findRun(low, length);
+                int run = runEnd - low;
+
+                // Extend short runs to the minimum length with insertion sort
+                if (run < minRun) {
+                    int forced = Math.min(minRun, length - low);
+                    binaryInsertionSort(low, low + forced, low + run);
+                    run = forced;
+                }
+
+                runBase[stackSize] = low;
+                runLength[stackSize] = run;
+                stackSize++;
+                mergeCollapse();
+
+                low += run;
+            }
+
+            // Merge whatever is left on the stack
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Returns a minimum run length between MIN_MERGE / 2 and MIN_MERGE such that the
+         * list length divided by it is close to a power of two.
+         */
+        private int minRunLength(int length) {
+            int extra = 0;
+            while (length >= MIN_MERGE) {
+                extra |= (length & 1);
+                length >>= 1;
+            }
+            return length + extra;
+        }
+
+        /**
+         * Returns the end of the run starting at low. A strictly descending run is
+         * reversed in place; strictness keeps equal items in their original order.
+         */
+        private int findRun(int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) {
+                return high;
+            }
+
+            if (comparator.compare(items[runHigh++], items[low]) < 0) {
+                while (runHigh < high && comparator.compare(items[runHigh], items[runHigh - 1]) < 0) {
+                    runHigh++;
+                }
+                for (int left = low, right = runHigh - 1; left < right; left++, right--) {
+                    InventoryItem swap = items[left];
+                    items[left] = items[right];
+                    items[right] = swap;
+                }
+            } else {
+                while (runHigh < high && comparator.compare(items[runHigh], items[runHigh - 1]) >= 0) {
+                    runHigh++;
+                }
+            }
+            return runHigh;
+        }
+
+        /**
+         * Sorts [low, high) given that [low, start) is already sorted, using binary search
+         * to find each insertion point. Equal items are inserted after existing ones.
+         */
+        private void binaryInsertionSort(int low, int high, int start) {
+            for (int i = start; i < high; i++) {
+                InventoryItem pivot = items[i];
+                int left = low;
+                int right = i;
+                while (left < right) {
+                    int middle = (left + right) >>> 1;
+                    if (comparator.compare(pivot, items[middle]) < 0) {
+                        right = middle;
+                    } else {
+                        left = middle + 1;
+                    }
+                }
+                System.arraycopy(items, left, items, left + 1, i - left);
+                items[left] = pivot;
+            }
+        }
+
+        /**
+         * Merges runs on the stack until, for the top runs X, Y, Z (Z on top),
+         * X > Y + Z and Y > Z hold.
+         */
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                        || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at stack positions i and i + 1.
+         */
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+
+            runLength[i] = length1 + length2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+
+            // Items of run 1 not greater than the first item of run 2 are already in place
+            int skipped = gallop(items[base2], items, base1, length1, true);
+            base1 += skipped;
+            length1 -= skipped;
+            if (length1 == 0) {
+                return;
+            }
+
+            // Items of run 2 not less than the last item of run 1 are already in place
+            length2 = gallop(items[base1 + length1 - 1], items, base2, length2, false);
+            if (length2 == 0) {
+                return;
+            }
+
+            merge(base1, length1, base2, length2);
+        }
+
+        /**
+         * Merges two adjacent runs by copying the first into the buffer and merging forward.
+         * Once one run wins MIN_GALLOP comparisons in a row, the merge gallops ahead and
+         * copies that run's next block of winning items at once.
+         */
+        private void merge(int base1, int length1, int base2, int length2) {
+            System.arraycopy(items, base1, buffer, 0, length1);
+
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int destination = base1;
+            int end1 = length1;
+            int end2 = base2 + length2;
+            int wins1 = 0;
+            int wins2 = 0;
+
+            while (cursor1 < end1 && cursor2 < end2) {
+                // Ties take the item from run 1 to stay stable
+                if (comparator.compare(items[cursor2], buffer[cursor1]) < 0) {
+                    items[destination++] = items[cursor2++];
+                    wins2++;
+                    wins1 = 0;
+                } else {
+                    items[destination++] = buffer[cursor1++];
+                    wins1++;
+                    wins2 = 0;
+                }
+
+                if (wins1 >= MIN_GALLOP && cursor1 < end1 && cursor2 < end2) {
+                    int count = gallop(items[cursor2], buffer, cursor1, end1 - cursor1, true);
+                    System.arraycopy(buffer, cursor1, items, destination, count);
+                    destination += count;
+                    cursor1 += count;
+                    wins1 = 0;
+                } else if (wins2 >= MIN_GALLOP && cursor1 < end1 && cursor2 < end2) {
+                    int count = gallop(buffer[cursor1], items, cursor2, end2 - cursor2, false);
+                    System.arraycopy(items, cursor2, items, destination, count);
+                    destination += count;
+                    cursor2 += count;
+                    wins2 = 0;
+                }
+            }
+
+            // Whatever remains of run 2 is already in place
+            System.arraycopy(buffer, cursor1, items, destination, end1 - cursor1);
+        }
+
+        /**
+         * Counts how many items at the start of the sorted range [base, base + length)
+         * come before the key: items not greater than the key when includeEqual is true,
+         * items less than the key otherwise. Searches exponentially, then by binary search.
+         */
+        private int gallop(InventoryItem key, InventoryItem[] range, int base, int length, boolean includeEqual) {
+            int low = 0;
+            int step = 1;
+            while (step <= length && before(range[base + step - 1], key, includeEqual)) {
+                low = step;
+                step = step * 2 + 1;
+                if (step <= 0) {
+                    step = Integer.MAX_VALUE;
+                }
+            }
+
+            int high = Math.min(step - 1, length);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (before(range[base + middle], key, includeEqual)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private boolean before(InventoryItem item, InventoryItem key, boolean includeEqual) {
+            int result = comparator.compare(item, key);
+            return includeEqual ? result <= 0 : result < 0;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.cs360inventoryapp.benchmarks;
+
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import com.example.cs360inventoryapp.utils.InventoryComparators;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortCriteria;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortDirection;
+import com.example.cs360inventoryapp.utils.InventorySorter;
+import com.example.cs360inventoryapp.utils.SortKeyColumns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for InventorySorter and the comparators, run on a plain JVM.
+ * Every sort mode is measured for each criteria and direction over synthetic folders
+ * of 1k to 5M items. Run main() to include the GC profiler, which reports the
+ * allocation per operation (gc.alloc.rate.norm) next to the timings.
+ *
+ * Besides the full sorts, topK measures selecting the first k items, the
+ * presorted benchmarks measure the adaptive sort on input that is already in
+ * or close to the target order, and the permutation benchmarks sort an index
+ * array over SortKeyColumns. Natural name order is the NAME_NATURAL criteria in
+ * every benchmark. The data is generated from fixed seeds and a fixed base date,
+ * so every run sorts the same items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class InventorySorterBenchmark {
+
+    private static final String[] PARTS = {"Bolt", "Nut", "Washer", "Screw", "Bracket", "Hinge", "Anchor", "Rivet"};
+    private static final String[] SIZES = {"M4", "M5", "M6", "M8", "M10", "M12"};
+    private static final long THREE_YEARS_MILLIS = 3L * 365 * 24 * 60 * 60 * 1000;
+    private static final long BASE_TIME_MILLIS = 1577836800000L; // 2020-01-01T00:00:00Z
+    private static final long SEED = 42L;
+
+    @Param({"1000", "10000", "100000", "1000000", "5000000"})
+    public int size;
+
+    @Param({"NAME", "NAME_NATURAL", "QUANTITY", "DATE"})
+    public SortCriteria criteria;
+
+    @Param({"ASCENDING", "DESCENDING"})
+    public SortDirection direction;
+
+    private List<InventoryItem> items;
+    private Comparator<InventoryItem> comparator;
+    private SortKeyColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = createItems(size, SEED);
+        comparator = InventoryComparators.getComparator(criteria, direction);
+        columns = new SortKeyColumns(items);
+    }
+
+    /**
+     * Number of items topK selects.
+     */
+    @State(Scope.Benchmark)
+    public static class TopKInput {
+        @Param({"20", "1000"})
+        public int k;
+    }
+
+    /**
+     * The benchmark's items rearranged relative to the sort order, for the adaptive sort.
+     */
+    @State(Scope.Benchmark)
+    public static class PresortedInput {
+        // Share of positions swapped at random in NEARLY_SORTED input
+        private static final double SWAP_RATE = 0.01;
+
+        @Param({"SORTED", "REVERSED", "NEARLY_SORTED"})
+        public String order;
+
+        List<InventoryItem> items;
+
+        @Setup(Level.Trial)
+        public void setUp(InventorySorterBenchmark benchmark) {
+            items = new ArrayList<>(InventorySorter.mergeSort(benchmark.items, benchmark.comparator));
+            if ("REVERSED".equals(order)) {
+                Collections.reverse(items);
+            } else if ("NEARLY_SORTED".equals(order)) {
+                Random random = new Random(SEED);
+                int swaps = (int) (items.size() * SWAP_RATE);
+                for (int i = 0; i < swaps; i++) {
+                    Collections.swap(items, random.nextInt(items.size()), random.nextInt(items.size()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a folder the way the app loads one: items in creation order, SKU-style
+     * names with mixed case and numeric suffixes, and quantities skewed towards low
+     * stock with a share of out-of-stock items.
+     */
+    static List<InventoryItem> createItems(int count, long seed) {
+        Random random = new Random(seed);
+        List<InventoryItem> items = new ArrayList<>(count);
+        long startTime = BASE_TIME_MILLIS;
+        long step = Math.max(1, THREE_YEARS_MILLIS / count);
+        long createdAt = startTime;
+
+        for (int i = 0; i < count; i++) {
+            String part = PARTS[random.nextInt(PARTS.length)];
+            if (random.nextInt(10) == 0) {
+                part = part.toUpperCase();
+            }
+            String name = part + " " + SIZES[random.nextInt(SIZES.length)] + " x " + (5 + random.nextInt(200));
+
+            int quantity;
+            if (random.nextInt(5) == 0) {
+                quantity = 0;
+            } else {
+                quantity = (int) Math.min(10000, Math.round(-50 * Math.log(1 - random.nextDouble())));
+            }
+
+            createdAt += random.nextInt((int) Math.min(Integer.MAX_VALUE, 2 * step));
+            items.add(new InventoryItem(i + 1, name, quantity, null, null, null, 1, createdAt));
+        }
+        return items;
+    }
+
+    @Benchmark
+    public List<InventoryItem> mergeSort() {
+        return InventorySorter.mergeSort(items, comparator);
+    }
+
+    @Benchmark
+    public List<InventoryItem> parallelMergeSort() {
+        return InventorySorter.parallelMergeSort(items, comparator);
+    }
+
+    @Benchmark
+    public List<InventoryItem> adaptiveMergeSort() {
+        return InventorySorter.adaptiveMergeSort(items, comparator);
+    }
+
+    @Benchmark
+    public List<InventoryItem> adaptiveMergeSortPresorted(PresortedInput input) {
+        return InventorySorter.adaptiveMergeSort(input.items, comparator);
+    }
+
+    @Benchmark
+    public List<InventoryItem> mergeSortPresorted(PresortedInput input) {
+        return InventorySorter.mergeSort(input.items, comparator);
+    }
+
+    @Benchmark
+    public List<InventoryItem> criteriaSort() {
+        return InventorySorter.sort(items, criteria, direction);
+    }
+
+    @Benchmark
+    public List<InventoryItem> topK(TopKInput input) {
+        return InventorySorter.topK(items, comparator, input.k);
+    }
+
+    // Columns extracted once in setUp, as when several orders share one loaded list
+    @Benchmark
+    public int[] permutationSort() {
+        return columns.sortedPermutation(criteria, direction);
+    }
+
+    // Includes extracting the key columns, for comparison with the list sorts
+    @Benchmark
+    public int[] permutationSortWithColumns() {
+        return new SortKeyColumns(items).sortedPermutation(criteria, direction);
+    }
+
+    @Benchmark
+    public List<InventoryItem> collectionsSort() {
+        List<InventoryItem> sorted = new ArrayList<>(items);
+        Collections.sort(sorted, comparator);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<InventoryItem> listSort() {
+        List<InventoryItem> sorted = new ArrayList<>(items);
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InventorySorterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
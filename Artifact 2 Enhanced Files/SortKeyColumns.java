@@ -0,0 +1,344 @@
+package com.example.cs360inventoryapp.utils;
+
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortCriteria;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortDirection;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortKey;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Primitive sort key columns extracted once from a list of inventory items.
+ * Sorting produces an int[] permutation of list positions instead of moving the
+ * items, so several sort orders can share the same backing list, and the sort
+ * itself only touches primitive arrays. Every sort is a stable LSD Radix Sort over
+ * the key column, giving the same order as InventorySorter.
+ */
+public class SortKeyColumns {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private final List<InventoryItem> items; // Null when built from columns
+    private final long[] ids; // Null when built from columns, whose rows are in ID order
+    private final String[] names;
+    private final int[] quantities;
+    private final long[] createdAt;
+    private final boolean[] hasCreatedAt;
+    private int[] nameRanks; // Built on the first name sort
+    private int[] naturalNameRanks; // Built on the first natural name sort
+
+    /**
+     * Extracts the key columns of the given items. The list is kept as the backing
+     * list for views and must not change while these columns are in use.
+     */
+    public SortKeyColumns(List<InventoryItem> items) {
+        this.items = items;
+        int length = items.size();
+        ids = new long[length];
+        names = new String[length];
+        quantities = new int[length];
+        createdAt = new long[length];
+        hasCreatedAt = new boolean[length];
+
+        for (int i = 0; i < length; i++) {
+            InventoryItem item = items.get(i);
+            ids[i] = item.getId();
+            names[i] = item.getName();
+            quantities[i] = item.getQuantity();
+            if (item.hasCreatedAt()) {
+                createdAt[i] = item.getCreatedAtMillis();
+                hasCreatedAt[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Uses existing columns (e.g. from a FolderSnapshot) as the sort keys without copying
+     * them. Every row must have a creation time, and rows must be in ID order for
+     * multi-level sorts. Views are not available without items.
+     */
+    public SortKeyColumns(String[] names, int[] quantities, long[] createdAt) {
+        this.items = null;
+        this.ids = null;
+        this.names = names;
+        this.quantities = quantities;
+        this.createdAt = createdAt;
+        this.hasCreatedAt = new boolean[createdAt.length];
+        Arrays.fill(hasCreatedAt, true);
+    }
+
+    /**
+     * Returns the list positions of the items in sorted order.
+     *
+     * @param criteria The field to sort by
+     * @param direction The sort direction
+     * @return A new permutation; position i of the sorted order is items.get(result[i])
+     */
+    public int[] sortedPermutation(SortCriteria criteria, SortDirection direction) {
+        int length = quantities.length;
+        boolean descending = direction == SortDirection.DESCENDING;
+        long[] keys = new long[length];
+        int[] permutation = new int[length];
+
+        switch (criteria) {
+            case QUANTITY:
+                for (int i = 0; i < length; i++) {
+                    // Flipping the sign bit makes the signed quantity sort correctly as an unsigned key
+                    int key = quantities[i] ^ Integer.MIN_VALUE;
+                    keys[i] = (descending ? ~key : key) & 0xFFFFFFFFL;
+                    permutation[i] = i;
+                }
+                radixSort(permutation, 0, length, keys, Integer.BYTES);
+                return permutation;
+
+            case DATE:
+                // Undated items go last when ascending and first when descending, in list order
+                int datedCount = 0;
+                for (boolean dated : hasCreatedAt) {
+                    if (dated) {
+                        datedCount++;
+                    }
+                }
+                int datedIndex = descending ? length - datedCount : 0;
+                int undatedIndex = descending ? 0 : datedCount;
+                for (int i = 0; i < length; i++) {
+                    if (hasCreatedAt[i]) {
+                        long key = createdAt[i] ^ Long.MIN_VALUE;
+                        keys[i] = descending ? ~key : key;
+                        permutation[datedIndex++] = i;
+                    } else {
+                        permutation[undatedIndex++] = i;
+                    }
+                }
+                int datedFrom = descending ? length - datedCount : 0;
+                radixSort(permutation, datedFrom, datedFrom + datedCount, keys, Long.BYTES);
+                return permutation;
+
+            case NAME_NATURAL:
+            case NAME:
+            default:
+                int[] ranks = getNameRanks(criteria == SortCriteria.NAME_NATURAL);
+                for (int i = 0; i < length; i++) {
+                    keys[i] = (descending ? ~ranks[i] : ranks[i]) & 0xFFFFFFFFL;
+                    permutation[i] = i;
+                }
+                radixSort(permutation, 0, length, keys, Integer.BYTES);
+                return permutation;
+        }
+    }
+
+    /**
+     * Returns the list positions of the items in multi-level order, the same order as
+     * InventoryComparators.CompositeComparator with the same keys. Each level is one
+     * stable radix sort of the permutation, from the last level to the first, starting
+     * from ID order for items that tie on every level. Name keys are built once per
+     * column, not on every comparison.
+     *
+     * @param sortKeys The levels, primary first
+     * @return A new permutation; position i of the sorted order is items.get(result[i])
+     */
+    public int[] sortedPermutation(SortKey... sortKeys) {
+        int length = quantities.length;
+        long[] keys = new long[length];
+        int[] permutation = new int[length];
+        for (int i = 0; i < length; i++) {
+            permutation[i] = i;
+        }
+
+        if (ids != null) {
+            for (int i = 0; i < length; i++) {
+                keys[i] = ids[i] ^ Long.MIN_VALUE;
+            }
+            radixSort(permutation, 0, length, keys, Long.BYTES);
+        }
+
+        for (int level = sortKeys.length - 1; level >= 0; level--) {
+            boolean descending = sortKeys[level].getDirection() == SortDirection.DESCENDING;
+            int keyBytes;
+            switch (sortKeys[level].getCriteria()) {
+                case QUANTITY:
+                    for (int i = 0; i < length; i++) {
+                        int key = quantities[i] ^ Integer.MIN_VALUE;
+                        keys[i] = (descending ? ~key : key) & 0xFFFFFFFFL;
+                    }
+                    keyBytes = Integer.BYTES;
+                    break;
+
+                case DATE:
+                    for (int i = 0; i < length; i++) {
+                        // Dated times never equal NO_TIMESTAMP (Long.MIN_VALUE), so shifting them
+                        // down by one leaves the largest key for undated items, which sort last
+                        long key = hasCreatedAt[i] ? (createdAt[i] - 1) ^ Long.MIN_VALUE : -1L;
+                        keys[i] = descending ? ~key : key;
+                    }
+                    keyBytes = Long.BYTES;
+                    break;
+
+                case NAME_NATURAL:
+                case NAME:
+                default:
+                    int[] ranks = getNameRanks(sortKeys[level].getCriteria() == SortCriteria.NAME_NATURAL);
+                    for (int i = 0; i < length; i++) {
+                        keys[i] = (descending ? ~ranks[i] : ranks[i]) & 0xFFFFFFFFL;
+                    }
+                    keyBytes = Integer.BYTES;
+            }
+            radixSort(permutation, 0, length, keys, keyBytes);
+        }
+        return permutation;
+    }
+
+    /**
+     * Returns a read-only list that reads the backing items through a permutation.
+     */
+    public List<InventoryItem> view(int[] permutation) {
+        if (items == null) {
+            throw new IllegalStateException("Views need the columns to be built from a list of items");
+        }
+        return new PermutedList(items, permutation);
+    }
+
+    /**
+     * Returns each item's dense rank in case-insensitive name order. Equal names share
+     * a rank and null names rank after every other name, matching NameComparator
+     * (or NaturalNameComparator when natural is true).
+     */
+    private int[] getNameRanks(boolean natural) {
+        int[] cached = natural ? naturalNameRanks : nameRanks;
+        if (cached != null) {
+            return cached;
+        }
+
+        int length = names.length;
+        String[] keys = new String[length];
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            String name = names[i];
+            keys[i] = natural ? InventoryComparators.naturalNameKey(name) : InventoryComparators.nameKey(name);
+            order[i] = i;
+        }
+        sortByNameKeys(order, keys);
+
+        int[] ranks = new int[length];
+        int rank = 0;
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && InventoryComparators.compareNameKeys(keys[order[i - 1]], keys[order[i]]) != 0) {
+                rank++;
+            }
+            ranks[order[i]] = rank;
+        }
+
+        if (natural) {
+            naturalNameRanks = ranks;
+        } else {
+            nameRanks = ranks;
+        }
+        return ranks;
+    }
+
+    /**
+     * Bottom-up Merge Sort of list positions by their name keys, with one scratch array.
+     */
+    private static void sortByNameKeys(int[] order, String[] keys) {
+        int length = order.length;
+        int[] source = order;
+        int[] target = new int[length];
+
+        for (int width = 1; width < length; width *= 2) {
+            for (int left = 0; left < length; left += 2 * width) {
+                int middle = Math.min(left + width, length);
+                int right = Math.min(left + 2 * width, length);
+                int leftIndex = left;
+                int rightIndex = middle;
+                int targetIndex = left;
+                while (leftIndex < middle && rightIndex < right) {
+                    if (InventoryComparators.compareNameKeys(keys[source[leftIndex]], keys[source[rightIndex]]) <= 0) {
+                        target[targetIndex++] = source[leftIndex++];
+                    } else {
+                        target[targetIndex++] = source[rightIndex++];
+                    }
+                }
+                System.arraycopy(source, leftIndex, target, targetIndex, middle - leftIndex);
+                targetIndex += middle - leftIndex;
+                System.arraycopy(source, rightIndex, target, targetIndex, right - rightIndex);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, length);
+        }
+    }
+
+    /**
+     * Stable LSD Radix Sort of permutation[from, to) by the unsigned keys of the list
+     * positions it holds, one byte per pass. Passes where every key shares the byte are skipped.
+     */
+    private static void radixSort(int[] permutation, int from, int to, long[] keys, int keyBytes) {
+        int length = to - from;
+        if (length <= 1) {
+            return;
+        }
+
+        int[] source = Arrays.copyOfRange(permutation, from, to);
+        int[] target = new int[length];
+        int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < keyBytes * RADIX_BITS; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[(int) (keys[source[i]] >>> shift) & (RADIX - 1)]++;
+            }
+            if (counts[(int) (keys[source[0]] >>> shift) & (RADIX - 1)] == length) {
+                continue;
+            }
+
+            // Turn the counts into starting offsets for each digit
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+
+            for (int i = 0; i < length; i++) {
+                int index = source[i];
+                target[counts[(int) (keys[index] >>> shift) & (RADIX - 1)]++] = index;
+            }
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        System.arraycopy(source, 0, permutation, from, length);
+    }
+
+    /**
+     * Read-only list view of the backing items in permutation order.
+     */
+    private static class PermutedList extends AbstractList<InventoryItem> implements RandomAccess {
+        private final List<InventoryItem> items;
+        private final int[] permutation;
+
+        PermutedList(List<InventoryItem> items, int[] permutation) {
+            this.items = items;
+            this.permutation = permutation;
+        }
+
+        @Override
+        public InventoryItem get(int index) {
+            return items.get(permutation[index]);
+        }
+
+        @Override
+        public int size() {
+            return permutation.length;
+        }
+    }
+}
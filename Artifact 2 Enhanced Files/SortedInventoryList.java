@@ -0,0 +1,273 @@
+package com.example.cs360inventoryapp.utils;
+
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortCriteria;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortDirection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+/**
+ * Keeps a list of inventory items in sorted order and updates it incrementally.
+ * Inserting, removing or repositioning a single item uses binary search to find
+ * its position, so a change costs O(log n) comparisons plus the list shift
+ * instead of a full re-sort.
+ *
+ * Items that tie on the sort criteria are ordered by ID, ascending when the list is
+ * ascending, so descending order is exactly ascending order reversed. This is the
+ * order the folder queries return (ORDER BY column, id), so rows loaded from SQLite
+ * and items inserted here always agree.
+ *
+ * Only the ascending order is stored. Descending is a reversed view of it, so
+ * flipping the direction costs nothing, and the ascending order of each criteria
+ * is cached until the contents change, so switching back to a criteria that was
+ * already sorted does not sort again.
+ */
+public class SortedInventoryList {
+
+    // ID order, which is the input order for full sorts so that ties come out by ID
+    private final Map<Long, InventoryItem> itemsById = new TreeMap<>();
+    // Ascending orders of other criteria already computed for the current contents
+    private final Map<SortCriteria, List<InventoryItem>> ascendingOrders = new EnumMap<>(SortCriteria.class);
+    // Ascending order of the current criteria, updated in place
+    private List<InventoryItem> ascending = new ArrayList<>();
+    private final List<InventoryItem> view = new DirectionView();
+    private SortCriteria criteria;
+    private SortDirection direction;
+    private Comparator<InventoryItem> criteriaComparator; // Ascending, without the ID tie-break
+
+    public SortedInventoryList(SortCriteria criteria, SortDirection direction) {
+        this.criteria = criteria;
+        this.direction = direction;
+        this.criteriaComparator = InventoryComparators.getComparator(criteria, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Replaces the contents with the given items and sorts them.
+     *
+     * @param newItems The items to hold (the list itself is not modified)
+     */
+    public void setItems(List<InventoryItem> newItems) {
+        itemsById.clear();
+        ascendingOrders.clear();
+        if (newItems != null) {
+            for (InventoryItem item : newItems) {
+                itemsById.put(item.getId(), item);
+            }
+        }
+        ascending = sortAscending(criteria);
+    }
+
+    /**
+     * Replaces the contents with items that are already in the current sort order,
+     * e.g. rows returned by an ORDER BY query, so no sort is needed.
+     *
+     * @param sortedItems The items in the current criteria and direction order, ties by ID
+     */
+    public void setSortedItems(List<InventoryItem> sortedItems) {
+        itemsById.clear();
+        ascendingOrders.clear();
+        ascending = new ArrayList<>();
+        if (sortedItems != null) {
+            ascending.addAll(sortedItems);
+            for (InventoryItem item : sortedItems) {
+                itemsById.put(item.getId(), item);
+            }
+        }
+        if (direction == SortDirection.DESCENDING) {
+            Collections.reverse(ascending);
+        }
+    }
+
+    /**
+     * Adds items that sort after every item already in the list, in the current sort
+     * order, e.g. the next page of a paged query. No sort is needed.
+     *
+     * @param nextItems The items to add after the current ones, in the current order
+     */
+    public void appendSortedItems(List<InventoryItem> nextItems) {
+        List<InventoryItem> added = new ArrayList<>(nextItems.size());
+        for (InventoryItem item : nextItems) {
+            remove(item.getId());
+            itemsById.put(item.getId(), item);
+            added.add(item);
+        }
+        if (direction == SortDirection.ASCENDING) {
+            ascending.addAll(added);
+        } else {
+            // The end of a descending view is the start of the ascending order
+            Collections.reverse(added);
+            ascending.addAll(0, added);
+        }
+        ascendingOrders.clear();
+    }
+
+    /**
+     * Removes all items. Clearing before setOrder and then setItems or setSortedItems
+     * replaces the contents in a new order without sorting the old contents first.
+     */
+    public void clear() {
+        itemsById.clear();
+        ascendingOrders.clear();
+        ascending = new ArrayList<>();
+    }
+
+    /**
+     * Changes the sort order. Flipping only the direction does not touch the items;
+     * a new criteria reuses its cached ascending order, or sorts if there is none.
+     */
+    public void setOrder(SortCriteria newCriteria, SortDirection newDirection) {
+        if (newCriteria != criteria) {
+            ascendingOrders.put(criteria, ascending);
+            List<InventoryItem> cached = ascendingOrders.remove(newCriteria);
+            criteria = newCriteria;
+            criteriaComparator = InventoryComparators.getComparator(criteria, SortDirection.ASCENDING);
+            ascending = cached != null ? cached : sortAscending(criteria);
+        }
+        direction = newDirection;
+    }
+
+    /**
+     * Inserts an item at its sorted position.
+     *
+     * @return The position the item was inserted at
+     */
+    public int insert(InventoryItem item) {
+        if (itemsById.containsKey(item.getId())) {
+            return update(item);
+        }
+        int position = ascendingPosition(item);
+        ascending.add(position, item);
+        itemsById.put(item.getId(), item);
+        ascendingOrders.clear();
+        return toViewPosition(position);
+    }
+
+    /**
+     * Removes the item with the given ID.
+     *
+     * @return The position the item was removed from, or -1 if it was not in the list
+     */
+    public int remove(long itemId) {
+        InventoryItem existing = itemsById.remove(itemId);
+        if (existing == null) {
+            return -1;
+        }
+        int position = indexOf(existing);
+        int viewPosition = toViewPosition(position);
+        ascending.remove(position);
+        ascendingOrders.clear();
+        return viewPosition;
+    }
+
+    /**
+     * Replaces an item with a new version of it and moves it to its new sorted position.
+     * If the item was not in the list it is simply inserted.
+     *
+     * @return The new position of the item
+     */
+    public int update(InventoryItem item) {
+        remove(item.getId());
+        return insert(item);
+    }
+
+    /**
+     * @return A read-only view of the items in sorted order
+     */
+    public List<InventoryItem> getItems() {
+        return view;
+    }
+
+    /**
+     * Returns the order of the list: the current criteria and direction, with ties
+     * by ID in the same direction. An item that compares below another is shown before it.
+     */
+    public Comparator<InventoryItem> getComparator() {
+        return direction == SortDirection.ASCENDING ? this::compareAscending : (a, b) -> compareAscending(b, a);
+    }
+
+    public int size() {
+        return ascending.size();
+    }
+
+    public boolean isEmpty() {
+        return ascending.isEmpty();
+    }
+
+    private int compareAscending(InventoryItem item1, InventoryItem item2) {
+        int result = criteriaComparator.compare(item1, item2);
+        return result != 0 ? result : Long.compare(item1.getId(), item2.getId());
+    }
+
+    private int toViewPosition(int ascendingPosition) {
+        return direction == SortDirection.ASCENDING ? ascendingPosition : ascending.size() - 1 - ascendingPosition;
+    }
+
+    /**
+     * Sorts the contents by a criteria. The stable sort of the ID-ordered items
+     * leaves ties in ID order.
+     */
+    private List<InventoryItem> sortAscending(SortCriteria sortCriteria) {
+        List<InventoryItem> idOrder = new ArrayList<>(itemsById.values());
+        return new ArrayList<>(InventorySorter.sort(idOrder, sortCriteria, SortDirection.ASCENDING));
+    }
+
+    /**
+     * Finds the position of an item that is in the list by binary search.
+     */
+    private int indexOf(InventoryItem item) {
+        int position = ascendingPosition(item);
+        if (position < ascending.size() && ascending.get(position) == item) {
+            return position;
+        }
+
+        // The item was changed in place since it was inserted, so fall back to a scan
+        for (int i = 0; i < ascending.size(); i++) {
+            if (ascending.get(i) == item) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Item " + item.getId() + " is indexed but not in the list");
+    }
+
+    /**
+     * Returns the first position in the ascending order whose item is not less than the
+     * given item. IDs are unique, so that is the item's own position if it is in the list.
+     */
+    private int ascendingPosition(InventoryItem item) {
+        int low = 0;
+        int high = ascending.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareAscending(ascending.get(middle), item) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Read-only view of the ascending order in the current direction.
+     */
+    private class DirectionView extends AbstractList<InventoryItem> implements RandomAccess {
+        @Override
+        public InventoryItem get(int index) {
+            return direction == SortDirection.ASCENDING
+                    ? ascending.get(index)
+                    : ascending.get(ascending.size() - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return ascending.size();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.cs360inventoryapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the per-call latency of the DatabaseHelper hot paths (getItem,
+ * updateItem, deleteItem, getUserSettings and checkUserExists), comparing statements
+ * prepared on every call with statements that are prepared once and rebound.
+ *
+ * Android's SQLite classes cannot run on a plain JVM, so this runs the same schema
+ * and SQL through the sqlite-jdbc driver (org.xerial:sqlite-jdbc). The driver does
+ * not cache statements, so the per-call variants pay the full SQLite prepare on
+ * every call.
+ *
+ * getItem and getUserSettings are queries, which DatabaseHelper runs with rawQuery
+ * rather than a cached statement; Android's per-connection statement cache keeps
+ * their prepare, but each call still looks it up and opens a cursor. Their Cached
+ * variants are therefore only an upper bound on what the app gets, not a
+ * measurement of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StatementCacheBenchmark {
+
+    private static final int ITEM_COUNT = 10000;
+    private static final int USER_COUNT = 100;
+
+    // The same SQL as DatabaseHelper
+    private static final String SQL_GET_ITEM = "SELECT id, name, quantity, description, barcode, image_path," +
+            " folder_id, created_at FROM inventory_items WHERE id = ?";
+    private static final String SQL_UPDATE_ITEM = "UPDATE inventory_items SET name = ?, quantity = ?," +
+            " description = ?, barcode = ?, image_path = ?, folder_id = ? WHERE id = ? AND user_id = ?";
+    private static final String SQL_DELETE_ITEM = "DELETE FROM inventory_items WHERE id = ? AND user_id = ?";
+    private static final String SQL_GET_USER_SETTINGS = "SELECT id, username, business_name, sms_enabled," +
+            " phone_number FROM users WHERE id = ?";
+    private static final String SQL_USER_EXISTS = "SELECT EXISTS(SELECT 1 FROM users WHERE username = ?)";
+
+    private Connection connection;
+    private PreparedStatement getItem;
+    private PreparedStatement updateItem;
+    private PreparedStatement deleteItem;
+    private PreparedStatement insertItem;
+    private PreparedStatement getUserSettings;
+    private PreparedStatement userExists;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users(id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT UNIQUE NOT NULL," +
+                    " password_hash TEXT NOT NULL, business_name TEXT, sms_enabled INTEGER NOT NULL DEFAULT 0," +
+                    " phone_number TEXT)");
+            statement.execute("CREATE TABLE inventory_items(id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL," +
+                    " quantity INTEGER NOT NULL DEFAULT 0, description TEXT, barcode TEXT, image_path TEXT," +
+                    " user_id INTEGER NOT NULL, folder_id INTEGER NOT NULL, created_at INTEGER NOT NULL)");
+        }
+
+        try (PreparedStatement insertUser = connection.prepareStatement(
+                "INSERT INTO users(username, password_hash, business_name) VALUES (?, 'hash', 'My Inventory')")) {
+            for (int i = 0; i < USER_COUNT; i++) {
+                insertUser.setString(1, "user" + i);
+                insertUser.executeUpdate();
+            }
+        }
+
+        insertItem = connection.prepareStatement("INSERT INTO inventory_items(id, name, quantity, user_id, folder_id," +
+                " created_at) VALUES (?, ?, ?, 1, 1, 0)");
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            insertItem(i);
+        }
+
+        getItem = connection.prepareStatement(SQL_GET_ITEM);
+        updateItem = connection.prepareStatement(SQL_UPDATE_ITEM);
+        deleteItem = connection.prepareStatement(SQL_DELETE_ITEM);
+        getUserSettings = connection.prepareStatement(SQL_GET_USER_SETTINGS);
+        userExists = connection.prepareStatement(SQL_USER_EXISTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private long nextItemId() {
+        nextId = nextId % ITEM_COUNT + 1;
+        return nextId;
+    }
+
+    private void insertItem(long id) throws SQLException {
+        insertItem.setLong(1, id);
+        insertItem.setString(2, "Item " + id);
+        insertItem.setInt(3, (int) (id % 50));
+        insertItem.executeUpdate();
+    }
+
+    // getItem
+
+    @Benchmark
+    public String getItemPreparedPerCall() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_GET_ITEM)) {
+            statement.setLong(1, nextItemId());
+            return readItemName(statement);
+        }
+    }
+
+    // Upper bound only: the app runs this query with rawQuery, not a statement prepared once
+    @Benchmark
+    public String getItemCached() throws SQLException {
+        getItem.setLong(1, nextItemId());
+        return readItemName(getItem);
+    }
+
+    private static String readItemName(PreparedStatement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery()) {
+            return result.next() ? result.getString(2) : null;
+        }
+    }
+
+    // updateItem
+
+    @Benchmark
+    public int updateItemPreparedPerCall() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_UPDATE_ITEM)) {
+            return bindAndUpdate(statement, nextItemId());
+        }
+    }
+
+    @Benchmark
+    public int updateItemCached() throws SQLException {
+        return bindAndUpdate(updateItem, nextItemId());
+    }
+
+    private static int bindAndUpdate(PreparedStatement statement, long id) throws SQLException {
+        statement.setString(1, "Item " + id);
+        statement.setInt(2, (int) (id % 50));
+        statement.setString(3, null);
+        statement.setString(4, null);
+        statement.setString(5, null);
+        statement.setLong(6, 1);
+        statement.setLong(7, id);
+        statement.setLong(8, 1);
+        return statement.executeUpdate();
+    }
+
+    // deleteItem (each deleted item is inserted again so the table size stays constant)
+
+    @Benchmark
+    public int deleteItemPreparedPerCall() throws SQLException {
+        long id = nextItemId();
+        int deleted;
+        try (PreparedStatement statement = connection.prepareStatement(SQL_DELETE_ITEM)) {
+            statement.setLong(1, id);
+            statement.setLong(2, 1);
+            deleted = statement.executeUpdate();
+        }
+        insertItem(id);
+        return deleted;
+    }
+
+    @Benchmark
+    public int deleteItemCached() throws SQLException {
+        long id = nextItemId();
+        deleteItem.setLong(1, id);
+        deleteItem.setLong(2, 1);
+        int deleted = deleteItem.executeUpdate();
+        insertItem(id);
+        return deleted;
+    }
+
+    // getUserSettings
+
+    @Benchmark
+    public String getUserSettingsPreparedPerCall() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_GET_USER_SETTINGS)) {
+            statement.setLong(1, nextItemId() % USER_COUNT + 1);
+            return readBusinessName(statement);
+        }
+    }
+
+    // Upper bound only: the app runs this query with rawQuery, not a statement prepared once
+    @Benchmark
+    public String getUserSettingsCached() throws SQLException {
+        getUserSettings.setLong(1, nextItemId() % USER_COUNT + 1);
+        return readBusinessName(getUserSettings);
+    }
+
+    private static String readBusinessName(PreparedStatement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery()) {
+            return result.next() ? result.getString(3) : null;
+        }
+    }
+
+    // checkUserExists
+
+    @Benchmark
+    public boolean checkUserExistsPreparedPerCall() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_USER_EXISTS)) {
+            return queryUserExists(statement);
+        }
+    }
+
+    @Benchmark
+    public boolean checkUserExistsCached() throws SQLException {
+        return queryUserExists(userExists);
+    }
+
+    private boolean queryUserExists(PreparedStatement statement) throws SQLException {
+        // Half of the names looked up do not exist
+        statement.setString(1, "user" + nextItemId() % (2 * USER_COUNT));
+        try (ResultSet result = statement.executeQuery()) {
+            return result.next() && result.getLong(1) == 1;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StatementCacheBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,40 @@
+package android.os;
+
+/**
+ * JVM stand-in for the Android class, so the app's model classes compile for the
+ * benchmarks. Parcels only exist on Android, so every method throws; no benchmark
+ * writes to a Parcel.
+ */
+public final class Parcel {
+
+    private Parcel() {
+    }
+
+    public void writeInt(int value) {
+        throw unsupported();
+    }
+
+    public void writeLong(long value) {
+        throw unsupported();
+    }
+
+    public void writeString(String value) {
+        throw unsupported();
+    }
+
+    public int readInt() {
+        throw unsupported();
+    }
+
+    public long readLong() {
+        throw unsupported();
+    }
+
+    public String readString() {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Parcel is only available on Android");
+    }
+}
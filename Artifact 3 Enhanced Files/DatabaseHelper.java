@@ -1,770 +1,1602 @@
-package com.example.cs360inventoryapp.data;
-
-import android.content.ContentValues;
-import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteOpenHelper;
-import android.util.Log;
-
-import org.mindrot.jbcrypt.BCrypt;
-
-import com.example.cs360inventoryapp.data.models.User;
-import com.example.cs360inventoryapp.data.models.InventoryItem;
-import com.example.cs360inventoryapp.data.models.Folder;
-
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
-/**
- * Manages the SQLite database for users and inventory items.
- */
-public class DatabaseHelper extends SQLiteOpenHelper {
-
-    private static final String TAG = "DatabaseHelper";
-
-    // Database Info
-    private static final String DATABASE_NAME = "inventoryManager.db";
-    private static final int DATABASE_VERSION = 3;
-
-    // Table Names
-    private static final String TABLE_USERS = "users";
-    private static final String TABLE_FOLDERS = "folders";
-    private static final String TABLE_INVENTORY_ITEMS = "inventory_items";
-
-    // Users Table Columns
-    private static final String KEY_USER_ID = "id";
-    private static final String KEY_USER_USERNAME = "username";
-    private static final String KEY_USER_PASSWORD = "password_hash";
-    private static final String KEY_USER_BUSINESS_NAME = "business_name";
-    private static final String KEY_USER_SMS_ENABLED = "sms_enabled"; // Integer of 0 or 1
-    private static final String KEY_USER_PHONE_NUMBER = "phone_number";
-
-    // Folders Table Columns
-    private static final String KEY_FOLDER_ID = "id";
-    private static final String KEY_FOLDER_NAME = "name";
-    private static final String KEY_FOLDER_USER_ID = "user_id";
-    private static final String KEY_ITEM_FOLDER_ID = "folder_id"; // Foreign key to folders
-    private static final String KEY_FOLDER_CREATED_AT = "created_at";
-
-    // Inventory Items Table Columns
-    private static final String KEY_ITEM_ID = "id";
-    private static final String KEY_ITEM_NAME = "name";
-    private static final String KEY_ITEM_QUANTITY = "quantity";
-    private static final String KEY_ITEM_DESCRIPTION = "description";
-    private static final String KEY_ITEM_BARCODE = "barcode";
-    private static final String KEY_ITEM_IMAGE_PATH = "image_path";
-    private static final String KEY_ITEM_USER_ID = "user_id";
-    private static final String KEY_ITEM_CREATED_AT = "created_at";
-
-    // Singleton instance
-    private static DatabaseHelper instance;
-    private Context context;
-
-    public static synchronized DatabaseHelper getInstance(Context context) {
-        if (instance == null) {
-            instance = new DatabaseHelper(context.getApplicationContext());
-        }
-        return instance;
-    }
-
-    private DatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
-        this.context = context;
-    }
-
-    // Called when the database connection is being configured.
-    @Override
-    public void onConfigure(SQLiteDatabase db) {
-        super.onConfigure(db);
-        db.setForeignKeyConstraintsEnabled(true);
-    }
-
-    // Called when the database is created for the first time.
-    @Override
-    public void onCreate(SQLiteDatabase db) {
-        // SQL query to create users table
-        String CREATE_USERS_TABLE = "CREATE TABLE " + TABLE_USERS +
-                "(" +
-                KEY_USER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                KEY_USER_USERNAME + " TEXT UNIQUE NOT NULL," +
-                KEY_USER_PASSWORD + " TEXT NOT NULL," + // Stores the BCrypt salted hash
-                KEY_USER_BUSINESS_NAME + " TEXT," +
-                KEY_USER_SMS_ENABLED + " INTEGER NOT NULL DEFAULT 0," + // defaults to disabled
-                KEY_USER_PHONE_NUMBER + " TEXT" +
-                ")";
-
-        // SQL query to create folders table
-        String CREATE_FOLDERS_TABLE = "CREATE TABLE " + TABLE_FOLDERS +
-                "(" +
-                KEY_FOLDER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                KEY_FOLDER_NAME + " TEXT NOT NULL," +
-                KEY_FOLDER_USER_ID + " INTEGER NOT NULL," +
-                KEY_FOLDER_CREATED_AT + " INTEGER NOT NULL," +
-                "FOREIGN KEY(" + KEY_FOLDER_USER_ID + ") REFERENCES " + TABLE_USERS + "(" + KEY_USER_ID + ") ON DELETE CASCADE," +
-                "UNIQUE(" + KEY_FOLDER_NAME + ", " + KEY_FOLDER_USER_ID + ")" + // Unique folder names per user
-                ")";
-
-        // SQL query to create inventory items table
-        String CREATE_INVENTORY_ITEMS_TABLE = "CREATE TABLE " + TABLE_INVENTORY_ITEMS +
-                "(" +
-                KEY_ITEM_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                KEY_ITEM_NAME + " TEXT NOT NULL," +
-                KEY_ITEM_QUANTITY + " INTEGER NOT NULL DEFAULT 0," +
-                KEY_ITEM_DESCRIPTION + " TEXT," +
-                KEY_ITEM_BARCODE + " TEXT," +
-                KEY_ITEM_IMAGE_PATH + " TEXT," +
-                KEY_ITEM_USER_ID + " INTEGER NOT NULL," +
-                KEY_ITEM_FOLDER_ID + " INTEGER NOT NULL," +
-                KEY_ITEM_CREATED_AT + " INTEGER NOT NULL," +
-                "FOREIGN KEY(" + KEY_ITEM_USER_ID + ") REFERENCES " + TABLE_USERS + "(" + KEY_USER_ID + ") ON DELETE CASCADE," +
-                "FOREIGN KEY(" + KEY_ITEM_FOLDER_ID + ") REFERENCES " + TABLE_FOLDERS + "(" + KEY_FOLDER_ID + ") ON DELETE CASCADE" +
-                ")";
-
-        db.execSQL(CREATE_USERS_TABLE);
-        db.execSQL(CREATE_FOLDERS_TABLE);
-        db.execSQL(CREATE_INVENTORY_ITEMS_TABLE);
-        Log.i(TAG, "Database tables created.");
-    }
-
-    // Called when the database needs to be upgraded.
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        if (oldVersion < 2) {
-            // Add created_at column to existing inventory_items table
-            String ALTER_TABLE_ADD_CREATED_AT = "ALTER TABLE " + TABLE_INVENTORY_ITEMS +
-                    " ADD COLUMN " + KEY_ITEM_CREATED_AT + " INTEGER NOT NULL DEFAULT " + System.currentTimeMillis();
-            db.execSQL(ALTER_TABLE_ADD_CREATED_AT);
-            Log.i(TAG, "Database upgraded: added created_at column");
-        }
-
-        if (oldVersion < 3) {
-            // Create folders table
-            String CREATE_FOLDERS_TABLE = "CREATE TABLE " + TABLE_FOLDERS +
-                    "(" +
-                    KEY_FOLDER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    KEY_FOLDER_NAME + " TEXT NOT NULL," +
-                    KEY_FOLDER_USER_ID + " INTEGER NOT NULL," +
-                    KEY_FOLDER_CREATED_AT + " INTEGER NOT NULL," +
-                    "FOREIGN KEY(" + KEY_FOLDER_USER_ID + ") REFERENCES " + TABLE_USERS + "(" + KEY_USER_ID + ") ON DELETE CASCADE," +
-                    "UNIQUE(" + KEY_FOLDER_NAME + ", " + KEY_FOLDER_USER_ID + ")" +
-                    ")";
-
-            db.execSQL(CREATE_FOLDERS_TABLE);
-
-            // Create default folder for existing users and migrate existing items
-            migrateExistingItemsToFolders(db);
-
-            // Add folder_id column to items table
-            String ALTER_ITEMS_ADD_FOLDER_ID = "ALTER TABLE " + TABLE_INVENTORY_ITEMS +
-                    " ADD COLUMN " + KEY_ITEM_FOLDER_ID + " INTEGER";
-            db.execSQL(ALTER_ITEMS_ADD_FOLDER_ID);
-
-            // Update all existing items to use the default folder
-            updateExistingItemsWithDefaultFolder(db);
-
-            Log.i(TAG, "Database upgraded to version 3: added folder support and migrated existing data");
-        }
-    }
-
-    private void migrateExistingItemsToFolders(SQLiteDatabase db) {
-
-        // Get all users
-        Cursor usersCursor = db.rawQuery("SELECT " + KEY_USER_ID + " FROM " + TABLE_USERS, null);
-
-        try {
-            while (usersCursor.moveToNext()) {
-                long userId = usersCursor.getLong(0);
-                // Create default folder for each user
-                ContentValues folderValues = new ContentValues();
-                folderValues.put(KEY_FOLDER_NAME, "General");
-                folderValues.put(KEY_FOLDER_USER_ID, userId);
-                folderValues.put(KEY_FOLDER_CREATED_AT, System.currentTimeMillis());
-                db.insert(TABLE_FOLDERS, null, folderValues);
-                Log.d(TAG, "Created default 'General' folder for user " + userId);
-            }
-        } finally {
-            usersCursor.close();
-        }
-    }
-
-    private void updateExistingItemsWithDefaultFolder(SQLiteDatabase db) {
-        // Update all items to reference their user's default folder
-        String updateQuery = "UPDATE " + TABLE_INVENTORY_ITEMS +
-                " SET " + KEY_ITEM_FOLDER_ID + " = (" +
-                "SELECT " + KEY_FOLDER_ID + " FROM " + TABLE_FOLDERS +
-                " WHERE " + KEY_FOLDER_USER_ID + " = " + TABLE_INVENTORY_ITEMS + "." + KEY_ITEM_USER_ID +
-                " AND " + KEY_FOLDER_NAME + " = 'General' LIMIT 1)";
-        db.execSQL(updateQuery);
-        Log.d(TAG, "Updated existing items to use default folders");
-    }
-
-    // User Methods
-    /**
-     * Adds a new user to the database.
-     *
-     * @param username The username.
-     * @param plainPassword The user's plaintext password.
-     * @return true if the user was added successfully, false otherwise.
-     */
-    public boolean addUser(String username, String plainPassword) {
-        SQLiteDatabase db = getWritableDatabase();
-        long result = -1;
-
-        // Hash the password
-        String hashedPassword = BCrypt.hashpw(plainPassword, BCrypt.gensalt());
-
-        db.beginTransaction();
-        try {
-            ContentValues values = new ContentValues();
-            values.put(KEY_USER_USERNAME, username);
-            values.put(KEY_USER_PASSWORD, hashedPassword);
-            values.put(KEY_USER_BUSINESS_NAME, "My Inventory"); // Default name
-            values.put(KEY_USER_SMS_ENABLED, 0); // Default SMS disabled (false)
-            values.put(KEY_USER_PHONE_NUMBER, "");
-
-            result = db.insertOrThrow(TABLE_USERS, null, values);
-            db.setTransactionSuccessful();
-            Log.i(TAG, "User added successfully: " + username);
-        } catch (Exception e) {
-            Log.e(TAG, "Error while trying to add user to database", e);
-        } finally {
-            db.endTransaction();
-        }
-        return result != -1;
-    }
-
-    /**
-     * Checks if a user exists with the given username.
-     *
-     * @param username The username to check.
-     * @return true if the user exists, false otherwise.
-     */
-    public boolean checkUserExists(String username) {
-        SQLiteDatabase db = getReadableDatabase();
-        String query = "SELECT " + KEY_USER_ID + " FROM " + TABLE_USERS +
-                " WHERE " + KEY_USER_USERNAME + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{username});
-        boolean exists = (cursor.getCount() > 0);
-        cursor.close();
-        return exists;
-    }
-
-    /**
-     * Validates user credentials by comparing the hashed password.
-     *
-     * @param username The username attempting to log in.
-     * @param plainPasswordAttempt The plain-text password entered by the user.
-     * @return true if credentials are valid, false otherwise.
-     */
-    public boolean checkUserCredentials(String username, String plainPasswordAttempt) {
-        SQLiteDatabase db = getReadableDatabase();
-        String storedHash = null;
-        String query = "SELECT " + KEY_USER_PASSWORD + " FROM " + TABLE_USERS +
-                " WHERE " + KEY_USER_USERNAME + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{username});
-
-        try {
-            if (cursor.moveToFirst()) {
-                storedHash = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_PASSWORD));
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error retrieving password hash for user: " + username, e);
-            return false; // Error during retrieval
-        } finally {
-            if (cursor != null && !cursor.isClosed()) {
-                cursor.close();
-            }
-        }
-
-        // If user not found or hash is null/empty, credentials are invalid
-        if (storedHash == null || storedHash.isEmpty()) {
-            Log.w(TAG, "No stored hash found for user: " + username);
-            return false;
-        }
-
-        // Use BCrypt to check the password
-        try {
-            boolean passwordMatches = BCrypt.checkpw(plainPasswordAttempt, storedHash);
-            Log.d(TAG, "Password check for " + username + ": " + passwordMatches);
-            return passwordMatches;
-        } catch (IllegalArgumentException e) {
-            // This can happen if the stored hash is invalid/corrupted
-            Log.e(TAG, "Error checking password (invalid hash format?) for user: " + username, e);
-            return false;
-        } catch (Exception e) {
-            Log.e(TAG, "Unexpected error checking password for user: " + username, e);
-            return false;
-        }
-    }
-
-    /**
-     * Retrieves user details and their settings by username.
-     * Excludes the password.
-     *
-     * @param username The username to look up.
-     * @return User object if found, null otherwise.
-     */
-    public User getUser(String username) {
-        SQLiteDatabase db = getReadableDatabase();
-        User user = null;
-        String query = "SELECT " + KEY_USER_ID + ", " + KEY_USER_USERNAME + ", " +
-                KEY_USER_BUSINESS_NAME + ", " + KEY_USER_SMS_ENABLED + ", " + KEY_USER_PHONE_NUMBER +
-                " FROM " + TABLE_USERS + " WHERE " + KEY_USER_USERNAME + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{username});
-        try {
-            if (cursor.moveToFirst()) {
-                long id = cursor.getLong(cursor.getColumnIndexOrThrow(KEY_USER_ID));
-                String name = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_USERNAME));
-                String businessName = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_BUSINESS_NAME));
-                int smsEnabledInt = cursor.getInt(cursor.getColumnIndexOrThrow(KEY_USER_SMS_ENABLED));
-                String phoneNumber = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_PHONE_NUMBER));
-                user = new User(id, name, businessName, smsEnabledInt == 1, phoneNumber);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting user data for: " + username, e);
-        } finally {
-            if (cursor != null && !cursor.isClosed()) {
-                cursor.close();
-            }
-        }
-        return user;
-    }
-
-    /**
-     * Retrieves user settings by user ID.
-     *
-     * @param userId The ID of the user.
-     * @return User object containing settings (or null if user not found).
-     */
-    public User getUserSettings(long userId) {
-        SQLiteDatabase db = getReadableDatabase();
-        User user = null;
-        String query = "SELECT " + KEY_USER_ID + ", " + KEY_USER_USERNAME + ", " +
-                KEY_USER_BUSINESS_NAME + ", " + KEY_USER_SMS_ENABLED + ", " + KEY_USER_PHONE_NUMBER +
-                " FROM " + TABLE_USERS + " WHERE " + KEY_USER_ID + " = ?";
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(userId)});
-        try {
-            if (cursor.moveToFirst()) {
-                long id = cursor.getLong(cursor.getColumnIndexOrThrow(KEY_USER_ID));
-                String name = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_USERNAME));
-                String businessName = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_BUSINESS_NAME));
-                int smsEnabledInt = cursor.getInt(cursor.getColumnIndexOrThrow(KEY_USER_SMS_ENABLED));
-                String phoneNumber = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_PHONE_NUMBER));
-                user = new User(id, name, businessName, smsEnabledInt == 1, phoneNumber);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting user settings for ID: " + userId, e);
-        } finally {
-            if (cursor != null && !cursor.isClosed()) {
-                cursor.close();
-            }
-        }
-        return user; // Returns null if user not found
-    }
-
-    /**
-     * Updates the settings for a specific user.
-     *
-     * @param userId       The ID of the user to update.
-     * @param businessName The new business name.
-     * @param smsEnabled   The new SMS enabled status.
-     * @return true if successful, false otherwise.
-     */
-    public boolean updateUserSettings(long userId, String businessName, boolean smsEnabled, String phoneNumber) {
-        SQLiteDatabase db = getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(KEY_USER_BUSINESS_NAME, businessName);
-        values.put(KEY_USER_SMS_ENABLED, smsEnabled ? 1 : 0);
-        values.put(KEY_USER_PHONE_NUMBER, phoneNumber);
-
-        int rowsAffected = 0;
-        db.beginTransaction();
-        try {
-            rowsAffected = db.update(TABLE_USERS, values, KEY_USER_ID + " = ?",
-                    new String[]{String.valueOf(userId)});
-            db.setTransactionSuccessful();
-            Log.i(TAG, "User settings updated for user ID: " + userId + ". Rows affected: " + rowsAffected);
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating user settings for ID: " + userId, e);
-            rowsAffected = 0;
-        } finally {
-            db.endTransaction();
-        }
-        return rowsAffected > 0;
-    }
-
-    /**
-     * Updates only the SMS preference for a specific user.
-     *
-     * @param userId       The ID of the user to update.
-     * @param smsEnabled   The new SMS enabled status.
-     * @return true if successful, false otherwise.
-     */
-    public boolean updateUserSmsPreference(long userId, boolean smsEnabled) {
-        SQLiteDatabase db = getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(KEY_USER_SMS_ENABLED, smsEnabled ? 1 : 0); // Store boolean as 0 or 1
-
-        int rowsAffected = 0;
-        db.beginTransaction();
-        try {
-            rowsAffected = db.update(TABLE_USERS, values, KEY_USER_ID + " = ?",
-                    new String[]{String.valueOf(userId)});
-            db.setTransactionSuccessful();
-            Log.i(TAG, "User SMS preference updated for user ID: " + userId + " to " + smsEnabled + ". Rows affected: " + rowsAffected);
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating user SMS preference for ID: " + userId, e);
-            rowsAffected = 0;
-        } finally {
-            db.endTransaction();
-        }
-        return rowsAffected > 0;
-    }
-
-    // Folder Methods
-    /**
-     * Creates a new folder for a user
-     */
-    public long addFolder(String folderName, long userId) {
-        SQLiteDatabase db = getWritableDatabase();
-        long folderId = -1;
-
-        db.beginTransaction();
-        try {
-            ContentValues values = new ContentValues();
-            values.put(KEY_FOLDER_NAME, folderName);
-            values.put(KEY_FOLDER_USER_ID, userId);
-            values.put(KEY_FOLDER_CREATED_AT, System.currentTimeMillis());
-
-            folderId = db.insertOrThrow(TABLE_FOLDERS, null, values);
-            db.setTransactionSuccessful();
-            Log.i(TAG, "Folder added successfully: ID " + folderId + ", Name: " + folderName);
-        } catch (Exception e) {
-            Log.e(TAG, "Error adding folder: " + folderName, e);
-        } finally {
-            db.endTransaction();
-        }
-        return folderId;
-    }
-
-    /**
-     * Gets all folders for a user
-     */
-    public List<Folder> getAllFolders(long userId) {
-        List<Folder> folders = new ArrayList<>();
-        SQLiteDatabase db = getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_FOLDERS +
-                " WHERE " + KEY_FOLDER_USER_ID + " = ? ORDER BY " + KEY_FOLDER_NAME + " ASC";
-
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(userId)});
-        try {
-            while (cursor.moveToNext()) {
-                Folder folder = new Folder();
-                folder.setId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_FOLDER_ID)));
-                folder.setName(cursor.getString(cursor.getColumnIndexOrThrow(KEY_FOLDER_NAME)));
-                folder.setUserId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_FOLDER_USER_ID)));
-
-                long timestamp = cursor.getLong(cursor.getColumnIndexOrThrow(KEY_FOLDER_CREATED_AT));
-                folder.setCreatedAt(new Date(timestamp));
-
-                folders.add(folder);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting folders for user " + userId, e);
-        } finally {
-            cursor.close();
-        }
-        return folders;
-    }
-
-    /**
-     * Gets a folder by ID
-     */
-    public Folder getFolder(long folderId) {
-        SQLiteDatabase db = getReadableDatabase();
-        Folder folder = null;
-        String query = "SELECT * FROM " + TABLE_FOLDERS + " WHERE " + KEY_FOLDER_ID + " = ?";
-
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId)});
-        try {
-            if (cursor.moveToFirst()) {
-                folder = new Folder();
-                folder.setId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_FOLDER_ID)));
-                folder.setName(cursor.getString(cursor.getColumnIndexOrThrow(KEY_FOLDER_NAME)));
-                folder.setUserId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_FOLDER_USER_ID)));
-
-                long timestamp = cursor.getLong(cursor.getColumnIndexOrThrow(KEY_FOLDER_CREATED_AT));
-                folder.setCreatedAt(new Date(timestamp));
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting folder " + folderId, e);
-        } finally {
-            cursor.close();
-        }
-        return folder;
-    }
-
-    /**
-     * Updates a folder name
-     */
-    public boolean updateFolder(long folderId, String newName, long userId) {
-        SQLiteDatabase db = getWritableDatabase();
-        int rowsAffected = 0;
-
-        db.beginTransaction();
-        try {
-            ContentValues values = new ContentValues();
-            values.put(KEY_FOLDER_NAME, newName);
-
-            rowsAffected = db.update(TABLE_FOLDERS, values,
-                    KEY_FOLDER_ID + " = ? AND " + KEY_FOLDER_USER_ID + " = ?",
-                    new String[]{String.valueOf(folderId), String.valueOf(userId)});
-
-            db.setTransactionSuccessful();
-            Log.i(TAG, "Folder updated: ID " + folderId + ", new name: " + newName);
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating folder " + folderId, e);
-        } finally {
-            db.endTransaction();
-        }
-        return rowsAffected > 0;
-    }
-
-    /**
-     * Deletes a folder (only if empty for accidental data loss reasons)
-     */
-    public boolean deleteFolder(long folderId, long userId) {
-        SQLiteDatabase db = getWritableDatabase();
-        boolean success = false;
-
-        db.beginTransaction();
-        try {
-            // Check if folder has items
-            String countQuery = "SELECT COUNT(*) FROM " + TABLE_INVENTORY_ITEMS +
-                    " WHERE " + KEY_ITEM_FOLDER_ID + " = ?";
-            Cursor cursor = db.rawQuery(countQuery, new String[]{String.valueOf(folderId)});
-
-            int itemCount = 0;
-            if (cursor.moveToFirst()) {
-                itemCount = cursor.getInt(0);
-            }
-            cursor.close();
-
-            if (itemCount > 0) {
-                Log.w(TAG, "Cannot delete folder " + folderId + ": contains " + itemCount + " items");
-                return false;
-            }
-
-            // Delete folder
-            int rowsAffected = db.delete(TABLE_FOLDERS,
-                    KEY_FOLDER_ID + " = ? AND " + KEY_FOLDER_USER_ID + " = ?",
-                    new String[]{String.valueOf(folderId), String.valueOf(userId)});
-
-            success = rowsAffected > 0;
-            db.setTransactionSuccessful();
-            Log.i(TAG, "Folder deleted: ID " + folderId);
-        } catch (Exception e) {
-            Log.e(TAG, "Error deleting folder " + folderId, e);
-        } finally {
-            db.endTransaction();
-        }
-        return success;
-    }
-
-    /**
-     * Gets count of items in a folder
-     */
-    public int getItemCountInFolder(long folderId) {
-        SQLiteDatabase db = getReadableDatabase();
-        int count = 0;
-        String query = "SELECT COUNT(*) FROM " + TABLE_INVENTORY_ITEMS +
-                " WHERE " + KEY_ITEM_FOLDER_ID + " = ?";
-
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId)});
-        try {
-            if (cursor.moveToFirst()) {
-                count = cursor.getInt(0);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting item count for folder " + folderId, e);
-        } finally {
-            cursor.close();
-        }
-        return count;
-    }
-
-    /**
-     * Adds item to a specific folder
-     */
-    public long addItem(InventoryItem item, long userId, long folderId) {
-        SQLiteDatabase db = getWritableDatabase();
-        long itemId = -1;
-
-        db.beginTransaction();
-        try {
-            ContentValues values = new ContentValues();
-            values.put(KEY_ITEM_NAME, item.getName());
-            values.put(KEY_ITEM_QUANTITY, item.getQuantity());
-            values.put(KEY_ITEM_DESCRIPTION, item.getDescription());
-            values.put(KEY_ITEM_BARCODE, item.getBarcode());
-            values.put(KEY_ITEM_IMAGE_PATH, item.getImagePath());
-            values.put(KEY_ITEM_USER_ID, userId);
-            values.put(KEY_ITEM_FOLDER_ID, folderId);
-            values.put(KEY_ITEM_CREATED_AT, item.getCreatedAt().getTime());
-
-            itemId = db.insertOrThrow(TABLE_INVENTORY_ITEMS, null, values);
-            db.setTransactionSuccessful();
-            Log.i(TAG, "Item added to folder " + folderId + ": ID " + itemId + ", Name: " + item.getName());
-        } catch (Exception e) {
-            Log.e(TAG, "Error adding item to folder " + folderId, e);
-        } finally {
-            db.endTransaction();
-        }
-        return itemId;
-    }
-
-    /**
-     * Gets all items in a specific folder
-     */
-    public List<InventoryItem> getItemsInFolder(long folderId, long userId) {
-        List<InventoryItem> items = new ArrayList<>();
-        SQLiteDatabase db = getReadableDatabase();
-        String query = "SELECT * FROM " + TABLE_INVENTORY_ITEMS +
-                " WHERE " + KEY_ITEM_FOLDER_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?";
-
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId), String.valueOf(userId)});
-        try {
-            while (cursor.moveToNext()) {
-                InventoryItem item = new InventoryItem();
-                item.setId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_ITEM_ID)));
-                item.setName(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_NAME)));
-                item.setQuantity(cursor.getInt(cursor.getColumnIndexOrThrow(KEY_ITEM_QUANTITY)));
-                item.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_DESCRIPTION)));
-                item.setBarcode(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_BARCODE)));
-                item.setImagePath(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_IMAGE_PATH)));
-                item.setFolderId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_ITEM_FOLDER_ID)));
-
-                long timestamp = cursor.getLong(cursor.getColumnIndexOrThrow(KEY_ITEM_CREATED_AT));
-                item.setCreatedAt(new Date(timestamp));
-
-                items.add(item);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting items for folder " + folderId, e);
-        } finally {
-            cursor.close();
-        }
-        return items;
-    }
-
-    /**
-     * Updates item including folder assignment
-     */
-    public int updateItem(InventoryItem item, long userId, long folderId) {
-        SQLiteDatabase db = getWritableDatabase();
-        int rowsAffected = 0;
-
-        ContentValues values = new ContentValues();
-        values.put(KEY_ITEM_NAME, item.getName());
-        values.put(KEY_ITEM_QUANTITY, item.getQuantity());
-        values.put(KEY_ITEM_DESCRIPTION, item.getDescription());
-        values.put(KEY_ITEM_BARCODE, item.getBarcode());
-        values.put(KEY_ITEM_IMAGE_PATH, item.getImagePath());
-        values.put(KEY_ITEM_FOLDER_ID, folderId);
-
-        db.beginTransaction();
-        try {
-            rowsAffected = db.update(TABLE_INVENTORY_ITEMS, values,
-                    KEY_ITEM_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?",
-                    new String[]{String.valueOf(item.getId()), String.valueOf(userId)});
-            db.setTransactionSuccessful();
-            Log.i(TAG, "Item updated: ID " + item.getId() + ", moved to folder " + folderId);
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating item " + item.getId(), e);
-        } finally {
-            db.endTransaction();
-        }
-        return rowsAffected;
-    }
-
-    // Inventory Item Methods
-
-    /**
-     * Retrieves a single inventory item by its ID.
-     *
-     * @param itemId The ID of the item to retrieve.
-     * @return The InventoryItem object, or null if not found.
-     */
-    public InventoryItem getItem(long itemId) {
-        SQLiteDatabase db = getReadableDatabase();
-        InventoryItem item = null;
-        String query = "SELECT * FROM " + TABLE_INVENTORY_ITEMS + " WHERE " + KEY_ITEM_ID + " = ?";
-
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(itemId)});
-        try {
-            if (cursor.moveToFirst()) {
-                item = new InventoryItem();
-                item.setId(cursor.getLong(cursor.getColumnIndexOrThrow(KEY_ITEM_ID)));
-                item.setName(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_NAME)));
-                item.setQuantity(cursor.getInt(cursor.getColumnIndexOrThrow(KEY_ITEM_QUANTITY)));
-                item.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_DESCRIPTION)));
-                item.setBarcode(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_BARCODE)));
-                item.setImagePath(cursor.getString(cursor.getColumnIndexOrThrow(KEY_ITEM_IMAGE_PATH)));
-
-                // Handle folder ID
-                int folderIdIndex = cursor.getColumnIndex(KEY_ITEM_FOLDER_ID);
-                if (folderIdIndex != -1 && !cursor.isNull(folderIdIndex)) {
-                    item.setFolderId(cursor.getLong(folderIdIndex));
-                }
-
-                // Handle created_at with fallback for existing data
-                int createdAtIndex = cursor.getColumnIndex(KEY_ITEM_CREATED_AT);
-                if (createdAtIndex != -1 && !cursor.isNull(createdAtIndex)) {
-                    long timestamp = cursor.getLong(createdAtIndex);
-                    item.setCreatedAt(new Date(timestamp));
-                } else {
-                    item.setCreatedAt(new Date()); // Fallback for existing data
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error while trying to get item from database", e);
-        } finally {
-            if (cursor != null && !cursor.isClosed()) {
-                cursor.close();
-            }
-        }
-        return item;
-    }
-
-    /**
-     * Deletes an inventory item, ensuring it belongs to the correct user.
-     *
-     * @param itemId The ID of the item to delete.
-     * @param userId The ID of the user attempting the deletion.
-     * @return The number of rows affected (should be 1 if successful).
-     */
-    public int deleteItem(long itemId, long userId) {
-        SQLiteDatabase db = getWritableDatabase();
-        int rowsAffected = 0;
-
-        db.beginTransaction();
-        try {
-            rowsAffected = db.delete(TABLE_INVENTORY_ITEMS,
-                    KEY_ITEM_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?",
-                    new String[]{String.valueOf(itemId), String.valueOf(userId)});
-            db.setTransactionSuccessful();
-            if (rowsAffected > 0) {
-                Log.i(TAG, "Item deleted successfully by user " + userId + ": ID " + itemId);
-            } else {
-                Log.w(TAG, "Item deletion failed or item not found/owned by user " + userId + ": ID " + itemId);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error while trying to delete item", e);
-        } finally {
-            db.endTransaction();
-        }
-        return rowsAffected;
-    }
-}
+package com.example.cs360inventoryapp.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import com.example.cs360inventoryapp.data.models.User;
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import com.example.cs360inventoryapp.data.models.Folder;
+import com.example.cs360inventoryapp.data.models.FolderSnapshot;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortCriteria;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortDirection;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manages the SQLite database for users and inventory items.
+ */
+public class DatabaseHelper extends SQLiteOpenHelper {
+
+    private static final String TAG = "DatabaseHelper";
+
+    // Database Info
+    private static final String DATABASE_NAME = "inventoryManager.db";
+    private static final int DATABASE_VERSION = 7;
+
+    // Table Names
+    private static final String TABLE_USERS = "users";
+    private static final String TABLE_FOLDERS = "folders";
+    private static final String TABLE_INVENTORY_ITEMS = "inventory_items";
+    private static final String TABLE_ITEMS_SEARCH = "inventory_items_fts"; // Full-text index of inventory_items
+
+    // Users Table Columns
+    private static final String KEY_USER_ID = "id";
+    private static final String KEY_USER_USERNAME = "username";
+    private static final String KEY_USER_PASSWORD = "password_hash";
+    private static final String KEY_USER_BUSINESS_NAME = "business_name";
+    private static final String KEY_USER_SMS_ENABLED = "sms_enabled"; // Integer of 0 or 1
+    private static final String KEY_USER_PHONE_NUMBER = "phone_number";
+
+    // Folders Table Columns
+    private static final String KEY_FOLDER_ID = "id";
+    private static final String KEY_FOLDER_NAME = "name";
+    private static final String KEY_FOLDER_USER_ID = "user_id";
+    private static final String KEY_ITEM_FOLDER_ID = "folder_id"; // Foreign key to folders
+    private static final String KEY_FOLDER_CREATED_AT = "created_at";
+    private static final String KEY_FOLDER_ITEM_COUNT = "item_count"; // Kept up to date by triggers
+
+    // Inventory Items Table Columns
+    private static final String KEY_ITEM_ID = "id";
+    private static final String KEY_ITEM_NAME = "name";
+    private static final String KEY_ITEM_QUANTITY = "quantity";
+    private static final String KEY_ITEM_DESCRIPTION = "description";
+    private static final String KEY_ITEM_BARCODE = "barcode";
+    private static final String KEY_ITEM_IMAGE_PATH = "image_path";
+    private static final String KEY_ITEM_USER_ID = "user_id";
+    private static final String KEY_ITEM_CREATED_AT = "created_at";
+
+    // Inventory Items Indexes (one per sort order of the folder contents screen)
+    private static final String INDEX_ITEMS_FOLDER_NAME = "idx_items_folder_user_name";
+    private static final String INDEX_ITEMS_FOLDER_QUANTITY = "idx_items_folder_user_quantity";
+    private static final String INDEX_ITEMS_FOLDER_CREATED_AT = "idx_items_folder_user_created_at";
+    private static final String INDEX_ITEMS_USER_BARCODE = "idx_items_user_barcode"; // Barcode scan lookups
+
+    // Triggers that maintain folders.item_count
+    private static final String TRIGGER_ITEM_COUNT_INSERT = "trg_items_count_insert";
+    private static final String TRIGGER_ITEM_COUNT_DELETE = "trg_items_count_delete";
+    private static final String TRIGGER_ITEM_COUNT_MOVE = "trg_items_count_move";
+
+    // Triggers that keep inventory_items_fts in sync with inventory_items
+    private static final String TRIGGER_ITEM_SEARCH_INSERT = "trg_items_search_insert";
+    private static final String TRIGGER_ITEM_SEARCH_BEFORE_UPDATE = "trg_items_search_before_update";
+    private static final String TRIGGER_ITEM_SEARCH_AFTER_UPDATE = "trg_items_search_after_update";
+    private static final String TRIGGER_ITEM_SEARCH_DELETE = "trg_items_search_delete";
+
+    // Search ranking weights of the indexed columns, in index column order (name, description, barcode)
+    private static final double[] SEARCH_COLUMN_WEIGHTS = {4.0, 1.0, 2.0};
+    private static final double SEARCH_TERM_SATURATION = 1.2; // BM25 k1
+    // Largest initial capacity of the searchItems queue; with a bigger limit it grows as hits arrive
+    private static final int SEARCH_INITIAL_CAPACITY = 64;
+
+    // Query projections
+    private static final String FOLDER_COLUMNS = KEY_FOLDER_ID + ", " + KEY_FOLDER_NAME + ", " +
+            KEY_FOLDER_USER_ID + ", " + KEY_FOLDER_CREATED_AT + ", " + KEY_FOLDER_ITEM_COUNT;
+    private static final String ITEM_COLUMNS = KEY_ITEM_ID + ", " + KEY_ITEM_NAME + ", " + KEY_ITEM_QUANTITY + ", " +
+            KEY_ITEM_DESCRIPTION + ", " + KEY_ITEM_BARCODE + ", " + KEY_ITEM_IMAGE_PATH + ", " +
+            KEY_ITEM_FOLDER_ID + ", " + KEY_ITEM_CREATED_AT;
+    // List screens only show these, so description, barcode and image path are not read
+    private static final String ITEM_LIST_COLUMNS = KEY_ITEM_ID + ", " + KEY_ITEM_NAME + ", " +
+            KEY_ITEM_QUANTITY + ", " + KEY_ITEM_FOLDER_ID + ", " + KEY_ITEM_CREATED_AT;
+
+    // SQL for the most frequent calls, built once. The single-value statements are kept
+    // compiled in statementCache; the queries rely on the connection's prepared statement
+    // cache, which matches on the SQL text.
+    private static final String SQL_USER_EXISTS = "SELECT EXISTS(SELECT 1 FROM " + TABLE_USERS +
+            " WHERE " + KEY_USER_USERNAME + " = ?)";
+    private static final String SQL_GET_USER_SETTINGS = "SELECT " + KEY_USER_ID + ", " + KEY_USER_USERNAME + ", " +
+            KEY_USER_BUSINESS_NAME + ", " + KEY_USER_SMS_ENABLED + ", " + KEY_USER_PHONE_NUMBER +
+            " FROM " + TABLE_USERS + " WHERE " + KEY_USER_ID + " = ?";
+    private static final String SQL_GET_ITEM = "SELECT " + ITEM_COLUMNS + " FROM " + TABLE_INVENTORY_ITEMS +
+            " WHERE " + KEY_ITEM_ID + " = ?";
+    private static final String SQL_UPDATE_ITEM = "UPDATE " + TABLE_INVENTORY_ITEMS + " SET " +
+            KEY_ITEM_NAME + " = ?, " + KEY_ITEM_QUANTITY + " = ?, " + KEY_ITEM_DESCRIPTION + " = ?, " +
+            KEY_ITEM_BARCODE + " = ?, " + KEY_ITEM_IMAGE_PATH + " = ?, " + KEY_ITEM_FOLDER_ID + " = ?" +
+            " WHERE " + KEY_ITEM_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?";
+    private static final String SQL_DELETE_ITEM = "DELETE FROM " + TABLE_INVENTORY_ITEMS +
+            " WHERE " + KEY_ITEM_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?";
+    private static final String SQL_GET_ITEM_BY_BARCODE = "SELECT " + ITEM_COLUMNS + " FROM " + TABLE_INVENTORY_ITEMS +
+            " WHERE " + KEY_ITEM_USER_ID + " = ? AND " + KEY_ITEM_BARCODE + " = ? ORDER BY " + KEY_ITEM_ID + " LIMIT 1";
+
+    // Barcodes bound per getItemsByBarcodes query, below SQLite's limit of 999 arguments
+    private static final int MAX_BARCODES_PER_QUERY = 900;
+
+    // Threads for submitRead; each query takes its own pooled read connection
+    private static final int READ_THREADS = 3;
+
+    // Singleton instance
+    private static DatabaseHelper instance;
+    private Context context;
+    private ExecutorService readExecutor; // Created on the first submitRead, shut down by close()
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Incremented after every item write, so screens can tell that their loaded items are stale
+    private final AtomicLong itemDataVersion = new AtomicLong();
+
+    // Compiled statements by SQL for the SQLiteDatabase instance statementDatabase, valid
+    // until it is reopened or closed. They are not tied to a connection: each execution
+    // takes a connection from the pool and reuses that connection's prepared statement, so
+    // the cache saves the per-call compile and argument validation, not the SQLite prepare.
+    private final Map<String, SQLiteStatement> statementCache = new HashMap<>();
+    private SQLiteDatabase statementDatabase;
+
+    public static synchronized DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new DatabaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private DatabaseHelper(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this.context = context;
+    }
+
+    /**
+     * Shuts down the read threads and closes the cached compiled statements before
+     * closing the database. Reads already submitted still run.
+     */
+    @Override
+    public synchronized void close() {
+        if (readExecutor != null) {
+            readExecutor.shutdown();
+            readExecutor = null;
+        }
+        closeCachedStatements();
+        super.close();
+    }
+
+    /**
+     * Returns a counter that changes whenever items are added, updated, deleted or
+     * moved, or a folder is deleted. A screen can keep the value from when it loaded
+     * its items and reload only if the value has changed since.
+     */
+    public long getItemDataVersion() {
+        return itemDataVersion.get();
+    }
+
+    /**
+     * Returns a compiled statement for the SQL, compiling it on first use. Callers
+     * must hold the statement's lock while binding and executing it, since the same
+     * instance is shared by every thread.
+     */
+    private synchronized SQLiteStatement getCachedStatement(SQLiteDatabase db, String sql) {
+        if (db != statementDatabase) {
+            // The database was reopened, so the old statements are no longer valid
+            closeCachedStatements();
+            statementDatabase = db;
+        }
+        SQLiteStatement statement = statementCache.get(sql);
+        if (statement == null) {
+            statement = db.compileStatement(sql);
+            statementCache.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private synchronized void closeCachedStatements() {
+        for (SQLiteStatement statement : statementCache.values()) {
+            statement.close();
+        }
+        statementCache.clear();
+        statementDatabase = null;
+    }
+
+    // Called when the database connection is being configured.
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        db.setForeignKeyConstraintsEnabled(true);
+        // Write-ahead logging lets queries on other threads read the last committed
+        // state from their own connections while a write transaction is open
+        db.enableWriteAheadLogging();
+    }
+
+    /**
+     * Runs a read-only query on a background thread. With write-ahead logging each
+     * running query gets its own connection from the pool, so several can run at once
+     * and none of them waits for a write in progress, such as a large addItems batch.
+     * The query must not write or open a transaction.
+     *
+     * @param query The read, e.g. {@code () -> dbHelper.getAllFolders(userId)}
+     * @return A Future for the query result
+     */
+    public <T> Future<T> submitRead(Callable<T> query) {
+        return getReadExecutor().submit(query);
+    }
+
+    /**
+     * Runs a read-only query on a background thread, as submitRead does, and passes
+     * the result to the callback on the main thread. If the query throws, the error
+     * is logged and the callback is not called.
+     *
+     * @param query The read, e.g. {@code () -> dbHelper.getAllFolders(userId)}
+     * @param callback Receives the result on the main thread
+     */
+    public <T> void submitRead(Callable<T> query, ReadCallback<T> callback) {
+        getReadExecutor().execute(() -> {
+            T result;
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                Log.e(TAG, "Error running background read", e);
+                return;
+            }
+            mainHandler.post(() -> callback.onResult(result));
+        });
+    }
+
+    /**
+     * Receives the result of a submitRead query on the main thread.
+     */
+    public interface ReadCallback<T> {
+        void onResult(T result);
+    }
+
+    private synchronized ExecutorService getReadExecutor() {
+        if (readExecutor == null) {
+            readExecutor = Executors.newFixedThreadPool(READ_THREADS);
+        }
+        return readExecutor;
+    }
+
+    // Called when the database is created for the first time.
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        // SQL query to create users table
+        String CREATE_USERS_TABLE = "CREATE TABLE " + TABLE_USERS +
+                "(" +
+                KEY_USER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                KEY_USER_USERNAME + " TEXT UNIQUE NOT NULL," +
+                KEY_USER_PASSWORD + " TEXT NOT NULL," + // Stores the BCrypt salted hash
+                KEY_USER_BUSINESS_NAME + " TEXT," +
+                KEY_USER_SMS_ENABLED + " INTEGER NOT NULL DEFAULT 0," + // defaults to disabled
+                KEY_USER_PHONE_NUMBER + " TEXT" +
+                ")";
+
+        // SQL query to create folders table
+        String CREATE_FOLDERS_TABLE = "CREATE TABLE " + TABLE_FOLDERS +
+                "(" +
+                KEY_FOLDER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                KEY_FOLDER_NAME + " TEXT NOT NULL," +
+                KEY_FOLDER_USER_ID + " INTEGER NOT NULL," +
+                KEY_FOLDER_CREATED_AT + " INTEGER NOT NULL," +
+                KEY_FOLDER_ITEM_COUNT + " INTEGER NOT NULL DEFAULT 0," +
+                "FOREIGN KEY(" + KEY_FOLDER_USER_ID + ") REFERENCES " + TABLE_USERS + "(" + KEY_USER_ID + ") ON DELETE CASCADE," +
+                "UNIQUE(" + KEY_FOLDER_NAME + ", " + KEY_FOLDER_USER_ID + ")" + // Unique folder names per user
+                ")";
+
+        // SQL query to create inventory items table
+        String CREATE_INVENTORY_ITEMS_TABLE = "CREATE TABLE " + TABLE_INVENTORY_ITEMS +
+                "(" +
+                KEY_ITEM_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                KEY_ITEM_NAME + " TEXT NOT NULL," +
+                KEY_ITEM_QUANTITY + " INTEGER NOT NULL DEFAULT 0," +
+                KEY_ITEM_DESCRIPTION + " TEXT," +
+                KEY_ITEM_BARCODE + " TEXT," +
+                KEY_ITEM_IMAGE_PATH + " TEXT," +
+                KEY_ITEM_USER_ID + " INTEGER NOT NULL," +
+                KEY_ITEM_FOLDER_ID + " INTEGER NOT NULL," +
+                KEY_ITEM_CREATED_AT + " INTEGER NOT NULL," +
+                "FOREIGN KEY(" + KEY_ITEM_USER_ID + ") REFERENCES " + TABLE_USERS + "(" + KEY_USER_ID + ") ON DELETE CASCADE," +
+                "FOREIGN KEY(" + KEY_ITEM_FOLDER_ID + ") REFERENCES " + TABLE_FOLDERS + "(" + KEY_FOLDER_ID + ") ON DELETE CASCADE" +
+                ")";
+
+        db.execSQL(CREATE_USERS_TABLE);
+        db.execSQL(CREATE_FOLDERS_TABLE);
+        db.execSQL(CREATE_INVENTORY_ITEMS_TABLE);
+        createItemSortIndexes(db);
+        createItemCountTriggers(db);
+        createItemSearchIndex(db);
+        createItemBarcodeIndex(db);
+        Log.i(TAG, "Database tables created.");
+    }
+
+    // Called when the database needs to be upgraded.
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            // Add created_at column to existing inventory_items table
+            String ALTER_TABLE_ADD_CREATED_AT = "ALTER TABLE " + TABLE_INVENTORY_ITEMS +
+                    " ADD COLUMN " + KEY_ITEM_CREATED_AT + " INTEGER NOT NULL DEFAULT " + System.currentTimeMillis();
+            db.execSQL(ALTER_TABLE_ADD_CREATED_AT);
+            Log.i(TAG, "Database upgraded: added created_at column");
+        }
+
+        if (oldVersion < 3) {
+            // Create folders table
+            String CREATE_FOLDERS_TABLE = "CREATE TABLE " + TABLE_FOLDERS +
+                    "(" +
+                    KEY_FOLDER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    KEY_FOLDER_NAME + " TEXT NOT NULL," +
+                    KEY_FOLDER_USER_ID + " INTEGER NOT NULL," +
+                    KEY_FOLDER_CREATED_AT + " INTEGER NOT NULL," +
+                    "FOREIGN KEY(" + KEY_FOLDER_USER_ID + ") REFERENCES " + TABLE_USERS + "(" + KEY_USER_ID + ") ON DELETE CASCADE," +
+                    "UNIQUE(" + KEY_FOLDER_NAME + ", " + KEY_FOLDER_USER_ID + ")" +
+                    ")";
+
+            db.execSQL(CREATE_FOLDERS_TABLE);
+
+            // Create default folder for existing users and migrate existing items
+            migrateExistingItemsToFolders(db);
+
+            // Add folder_id column to items table
+            String ALTER_ITEMS_ADD_FOLDER_ID = "ALTER TABLE " + TABLE_INVENTORY_ITEMS +
+                    " ADD COLUMN " + KEY_ITEM_FOLDER_ID + " INTEGER";
+            db.execSQL(ALTER_ITEMS_ADD_FOLDER_ID);
+
+            // Update all existing items to use the default folder
+            updateExistingItemsWithDefaultFolder(db);
+
+            Log.i(TAG, "Database upgraded to version 3: added folder support and migrated existing data");
+        }
+
+        if (oldVersion < 4) {
+            createItemSortIndexes(db);
+            Log.i(TAG, "Database upgraded to version 4: added folder contents sort indexes");
+        }
+
+        if (oldVersion < 5) {
+            db.execSQL("ALTER TABLE " + TABLE_FOLDERS +
+                    " ADD COLUMN " + KEY_FOLDER_ITEM_COUNT + " INTEGER NOT NULL DEFAULT 0");
+            // Backfill the counts, then let the triggers keep them up to date
+            db.execSQL("UPDATE " + TABLE_FOLDERS + " SET " + KEY_FOLDER_ITEM_COUNT + " = (" +
+                    "SELECT COUNT(*) FROM " + TABLE_INVENTORY_ITEMS +
+                    " WHERE " + TABLE_INVENTORY_ITEMS + "." + KEY_ITEM_FOLDER_ID + " = " + TABLE_FOLDERS + "." + KEY_FOLDER_ID + ")");
+            createItemCountTriggers(db);
+            Log.i(TAG, "Database upgraded to version 5: added folder item counts");
+        }
+
+        if (oldVersion < 6) {
+            createItemSearchIndex(db);
+            // Index the existing items; the triggers index every later change
+            db.execSQL("INSERT INTO " + TABLE_ITEMS_SEARCH + "(" + TABLE_ITEMS_SEARCH + ") VALUES('rebuild')");
+            Log.i(TAG, "Database upgraded to version 6: added item search index");
+        }
+
+        if (oldVersion < 7) {
+            createItemBarcodeIndex(db);
+            Log.i(TAG, "Database upgraded to version 7: added item barcode index");
+        }
+    }
+
+    /**
+     * Creates the composite indexes that let SQLite return a folder's items already
+     * sorted by name, quantity or creation date without a separate sort step.
+     */
+    private void createItemSortIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_ITEMS_FOLDER_NAME + " ON " + TABLE_INVENTORY_ITEMS +
+                "(" + KEY_ITEM_FOLDER_ID + ", " + KEY_ITEM_USER_ID + ", " + KEY_ITEM_NAME + " COLLATE NOCASE)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_ITEMS_FOLDER_QUANTITY + " ON " + TABLE_INVENTORY_ITEMS +
+                "(" + KEY_ITEM_FOLDER_ID + ", " + KEY_ITEM_USER_ID + ", " + KEY_ITEM_QUANTITY + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_ITEMS_FOLDER_CREATED_AT + " ON " + TABLE_INVENTORY_ITEMS +
+                "(" + KEY_ITEM_FOLDER_ID + ", " + KEY_ITEM_USER_ID + ", " + KEY_ITEM_CREATED_AT + ")");
+    }
+
+    /**
+     * Creates the triggers that keep each folder's item_count equal to the number of
+     * items whose folder_id points at it, including items moved between folders and
+     * items removed by a cascading delete.
+     */
+    private void createItemCountTriggers(SQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_COUNT_INSERT +
+                " AFTER INSERT ON " + TABLE_INVENTORY_ITEMS + " BEGIN" +
+                " UPDATE " + TABLE_FOLDERS + " SET " + KEY_FOLDER_ITEM_COUNT + " = " + KEY_FOLDER_ITEM_COUNT + " + 1" +
+                " WHERE " + KEY_FOLDER_ID + " = NEW." + KEY_ITEM_FOLDER_ID + ";" +
+                " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_COUNT_DELETE +
+                " AFTER DELETE ON " + TABLE_INVENTORY_ITEMS + " BEGIN" +
+                " UPDATE " + TABLE_FOLDERS + " SET " + KEY_FOLDER_ITEM_COUNT + " = " + KEY_FOLDER_ITEM_COUNT + " - 1" +
+                " WHERE " + KEY_FOLDER_ID + " = OLD." + KEY_ITEM_FOLDER_ID + ";" +
+                " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_COUNT_MOVE +
+                " AFTER UPDATE OF " + KEY_ITEM_FOLDER_ID + " ON " + TABLE_INVENTORY_ITEMS +
+                " WHEN OLD." + KEY_ITEM_FOLDER_ID + " IS NOT NEW." + KEY_ITEM_FOLDER_ID + " BEGIN" +
+                " UPDATE " + TABLE_FOLDERS + " SET " + KEY_FOLDER_ITEM_COUNT + " = " + KEY_FOLDER_ITEM_COUNT + " - 1" +
+                " WHERE " + KEY_FOLDER_ID + " = OLD." + KEY_ITEM_FOLDER_ID + ";" +
+                " UPDATE " + TABLE_FOLDERS + " SET " + KEY_FOLDER_ITEM_COUNT + " = " + KEY_FOLDER_ITEM_COUNT + " + 1" +
+                " WHERE " + KEY_FOLDER_ID + " = NEW." + KEY_ITEM_FOLDER_ID + ";" +
+                " END");
+    }
+
+    /**
+     * Creates the full-text index over item names, descriptions and barcodes, and the
+     * triggers that keep it in sync. The index is FTS4 because the SQLite bundled with
+     * Android is not built with FTS5. It is an external content table, so the text is
+     * stored only once, in inventory_items; old values must be removed from the index
+     * before the row changes, hence the BEFORE triggers.
+     */
+    private void createItemSearchIndex(SQLiteDatabase db) {
+        String indexedColumns = KEY_ITEM_NAME + ", " + KEY_ITEM_DESCRIPTION + ", " + KEY_ITEM_BARCODE;
+        String newValues = "NEW." + KEY_ITEM_ID + ", NEW." + KEY_ITEM_NAME + ", NEW." + KEY_ITEM_DESCRIPTION +
+                ", NEW." + KEY_ITEM_BARCODE;
+        String textChanged = " WHEN OLD." + KEY_ITEM_NAME + " IS NOT NEW." + KEY_ITEM_NAME +
+                " OR OLD." + KEY_ITEM_DESCRIPTION + " IS NOT NEW." + KEY_ITEM_DESCRIPTION +
+                " OR OLD." + KEY_ITEM_BARCODE + " IS NOT NEW." + KEY_ITEM_BARCODE;
+
+        // Prefix indexes make the 2 and 3 character prefixes typed first as fast as whole words
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + TABLE_ITEMS_SEARCH + " USING fts4(" +
+                indexedColumns + ", content=\"" + TABLE_INVENTORY_ITEMS + "\", tokenize=unicode61, prefix=\"2,3\")");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_SEARCH_INSERT +
+                " AFTER INSERT ON " + TABLE_INVENTORY_ITEMS + " BEGIN" +
+                " INSERT INTO " + TABLE_ITEMS_SEARCH + "(docid, " + indexedColumns + ") VALUES (" + newValues + ");" +
+                " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_SEARCH_BEFORE_UPDATE +
+                " BEFORE UPDATE OF " + indexedColumns + " ON " + TABLE_INVENTORY_ITEMS + textChanged + " BEGIN" +
+                " DELETE FROM " + TABLE_ITEMS_SEARCH + " WHERE docid = OLD." + KEY_ITEM_ID + ";" +
+                " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_SEARCH_AFTER_UPDATE +
+                " AFTER UPDATE OF " + indexedColumns + " ON " + TABLE_INVENTORY_ITEMS + textChanged + " BEGIN" +
+                " INSERT INTO " + TABLE_ITEMS_SEARCH + "(docid, " + indexedColumns + ") VALUES (" + newValues + ");" +
+                " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_ITEM_SEARCH_DELETE +
+                " BEFORE DELETE ON " + TABLE_INVENTORY_ITEMS + " BEGIN" +
+                " DELETE FROM " + TABLE_ITEMS_SEARCH + " WHERE docid = OLD." + KEY_ITEM_ID + ";" +
+                " END");
+    }
+
+    /**
+     * Creates the index that finds a user's items by barcode with a single index seek.
+     * Rows in the index are in ID order within each barcode, so the first match is the
+     * oldest item with that barcode.
+     */
+    private void createItemBarcodeIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_ITEMS_USER_BARCODE + " ON " + TABLE_INVENTORY_ITEMS +
+                "(" + KEY_ITEM_USER_ID + ", " + KEY_ITEM_BARCODE + ")");
+    }
+
+    private void migrateExistingItemsToFolders(SQLiteDatabase db) {
+
+        // Get all users
+        Cursor usersCursor = db.rawQuery("SELECT " + KEY_USER_ID + " FROM " + TABLE_USERS, null);
+
+        try {
+            while (usersCursor.moveToNext()) {
+                long userId = usersCursor.getLong(0);
+                // Create default folder for each user
+                ContentValues folderValues = new ContentValues();
+                folderValues.put(KEY_FOLDER_NAME, "General");
+                folderValues.put(KEY_FOLDER_USER_ID, userId);
+                folderValues.put(KEY_FOLDER_CREATED_AT, System.currentTimeMillis());
+                db.insert(TABLE_FOLDERS, null, folderValues);
+                Log.d(TAG, "Created default 'General' folder for user " + userId);
+            }
+        } finally {
+            usersCursor.close();
+        }
+    }
+
+    private void updateExistingItemsWithDefaultFolder(SQLiteDatabase db) {
+        // Update all items to reference their user's default folder
+        String updateQuery = "UPDATE " + TABLE_INVENTORY_ITEMS +
+                " SET " + KEY_ITEM_FOLDER_ID + " = (" +
+                "SELECT " + KEY_FOLDER_ID + " FROM " + TABLE_FOLDERS +
+                " WHERE " + KEY_FOLDER_USER_ID + " = " + TABLE_INVENTORY_ITEMS + "." + KEY_ITEM_USER_ID +
+                " AND " + KEY_FOLDER_NAME + " = 'General' LIMIT 1)";
+        db.execSQL(updateQuery);
+        Log.d(TAG, "Updated existing items to use default folders");
+    }
+
+    // User Methods
+    /**
+     * Adds a new user to the database.
+     *
+     * @param username The username.
+     * @param plainPassword The user's plaintext password.
+     * @return true if the user was added successfully, false otherwise.
+     */
+    public boolean addUser(String username, String plainPassword) {
+        SQLiteDatabase db = getWritableDatabase();
+        long result = -1;
+
+        // Hash the password
+        String hashedPassword = BCrypt.hashpw(plainPassword, BCrypt.gensalt());
+
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(KEY_USER_USERNAME, username);
+            values.put(KEY_USER_PASSWORD, hashedPassword);
+            values.put(KEY_USER_BUSINESS_NAME, "My Inventory"); // Default name
+            values.put(KEY_USER_SMS_ENABLED, 0); // Default SMS disabled (false)
+            values.put(KEY_USER_PHONE_NUMBER, "");
+
+            result = db.insertOrThrow(TABLE_USERS, null, values);
+            db.setTransactionSuccessful();
+            Log.i(TAG, "User added successfully: " + username);
+        } catch (Exception e) {
+            Log.e(TAG, "Error while trying to add user to database", e);
+        } finally {
+            db.endTransaction();
+        }
+        return result != -1;
+    }
+
+    /**
+     * Checks if a user exists with the given username.
+     *
+     * @param username The username to check.
+     * @return true if the user exists, false otherwise.
+     */
+    public boolean checkUserExists(String username) {
+        SQLiteStatement statement = getCachedStatement(getReadableDatabase(), SQL_USER_EXISTS);
+        synchronized (statement) {
+            try {
+                bindStringOrNull(statement, 1, username);
+                return statement.simpleQueryForLong() == 1;
+            } finally {
+                statement.clearBindings();
+            }
+        }
+    }
+
+    /**
+     * Validates user credentials by comparing the hashed password.
+     *
+     * @param username The username attempting to log in.
+     * @param plainPasswordAttempt The plain-text password entered by the user.
+     * @return true if credentials are valid, false otherwise.
+     */
+    public boolean checkUserCredentials(String username, String plainPasswordAttempt) {
+        SQLiteDatabase db = getReadableDatabase();
+        String storedHash = null;
+        String query = "SELECT " + KEY_USER_PASSWORD + " FROM " + TABLE_USERS +
+                " WHERE " + KEY_USER_USERNAME + " = ?";
+        Cursor cursor = db.rawQuery(query, new String[]{username});
+
+        try {
+            if (cursor.moveToFirst()) {
+                storedHash = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_PASSWORD));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error retrieving password hash for user: " + username, e);
+            return false; // Error during retrieval
+        } finally {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        }
+
+        // If user not found or hash is null/empty, credentials are invalid
+        if (storedHash == null || storedHash.isEmpty()) {
+            Log.w(TAG, "No stored hash found for user: " + username);
+            return false;
+        }
+
+        // Use BCrypt to check the password
+        try {
+            boolean passwordMatches = BCrypt.checkpw(plainPasswordAttempt, storedHash);
+            Log.d(TAG, "Password check for " + username + ": " + passwordMatches);
+            return passwordMatches;
+        } catch (IllegalArgumentException e) {
+            // This can happen if the stored hash is invalid/corrupted
+            Log.e(TAG, "Error checking password (invalid hash format?) for user: " + username, e);
+            return false;
+        } catch (Exception e) {
+            Log.e(TAG, "Unexpected error checking password for user: " + username, e);
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves user details and their settings by username.
+     * Excludes the password.
+     *
+     * @param username The username to look up.
+     * @return User object if found, null otherwise.
+     */
+    public User getUser(String username) {
+        SQLiteDatabase db = getReadableDatabase();
+        User user = null;
+        String query = "SELECT " + KEY_USER_ID + ", " + KEY_USER_USERNAME + ", " +
+                KEY_USER_BUSINESS_NAME + ", " + KEY_USER_SMS_ENABLED + ", " + KEY_USER_PHONE_NUMBER +
+                " FROM " + TABLE_USERS + " WHERE " + KEY_USER_USERNAME + " = ?";
+        Cursor cursor = db.rawQuery(query, new String[]{username});
+        try {
+            if (cursor.moveToFirst()) {
+                long id = cursor.getLong(cursor.getColumnIndexOrThrow(KEY_USER_ID));
+                String name = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_USERNAME));
+                String businessName = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_BUSINESS_NAME));
+                int smsEnabledInt = cursor.getInt(cursor.getColumnIndexOrThrow(KEY_USER_SMS_ENABLED));
+                String phoneNumber = cursor.getString(cursor.getColumnIndexOrThrow(KEY_USER_PHONE_NUMBER));
+                user = new User(id, name, businessName, smsEnabledInt == 1, phoneNumber);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting user data for: " + username, e);
+        } finally {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Retrieves user settings by user ID.
+     *
+     * @param userId The ID of the user.
+     * @return User object containing settings (or null if user not found).
+     */
+    public User getUserSettings(long userId) {
+        SQLiteDatabase db = getReadableDatabase();
+        User user = null;
+        Cursor cursor = db.rawQuery(SQL_GET_USER_SETTINGS, new String[]{String.valueOf(userId)});
+        try {
+            if (cursor.moveToFirst()) {
+                // Columns are in SQL_GET_USER_SETTINGS order
+                long id = cursor.getLong(0);
+                String name = cursor.getString(1);
+                String businessName = cursor.getString(2);
+                int smsEnabledInt = cursor.getInt(3);
+                String phoneNumber = cursor.getString(4);
+                user = new User(id, name, businessName, smsEnabledInt == 1, phoneNumber);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting user settings for ID: " + userId, e);
+        } finally {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        }
+        return user; // Returns null if user not found
+    }
+
+    /**
+     * Updates the settings for a specific user.
+     *
+     * @param userId       The ID of the user to update.
+     * @param businessName The new business name.
+     * @param smsEnabled   The new SMS enabled status.
+     * @return true if successful, false otherwise.
+     */
+    public boolean updateUserSettings(long userId, String businessName, boolean smsEnabled, String phoneNumber) {
+        SQLiteDatabase db = getWritableDatabase();
+        ContentValues values = new ContentValues();
+        values.put(KEY_USER_BUSINESS_NAME, businessName);
+        values.put(KEY_USER_SMS_ENABLED, smsEnabled ? 1 : 0);
+        values.put(KEY_USER_PHONE_NUMBER, phoneNumber);
+
+        int rowsAffected = 0;
+        db.beginTransaction();
+        try {
+            rowsAffected = db.update(TABLE_USERS, values, KEY_USER_ID + " = ?",
+                    new String[]{String.valueOf(userId)});
+            db.setTransactionSuccessful();
+            Log.i(TAG, "User settings updated for user ID: " + userId + ". Rows affected: " + rowsAffected);
+        } catch (Exception e) {
+            Log.e(TAG, "Error updating user settings for ID: " + userId, e);
+            rowsAffected = 0;
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected > 0;
+    }
+
+    /**
+     * Updates only the SMS preference for a specific user.
+     *
+     * @param userId       The ID of the user to update.
+     * @param smsEnabled   The new SMS enabled status.
+     * @return true if successful, false otherwise.
+     */
+    public boolean updateUserSmsPreference(long userId, boolean smsEnabled) {
+        SQLiteDatabase db = getWritableDatabase();
+        ContentValues values = new ContentValues();
+        values.put(KEY_USER_SMS_ENABLED, smsEnabled ? 1 : 0); // Store boolean as 0 or 1
+
+        int rowsAffected = 0;
+        db.beginTransaction();
+        try {
+            rowsAffected = db.update(TABLE_USERS, values, KEY_USER_ID + " = ?",
+                    new String[]{String.valueOf(userId)});
+            db.setTransactionSuccessful();
+            Log.i(TAG, "User SMS preference updated for user ID: " + userId + " to " + smsEnabled + ". Rows affected: " + rowsAffected);
+        } catch (Exception e) {
+            Log.e(TAG, "Error updating user SMS preference for ID: " + userId, e);
+            rowsAffected = 0;
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected > 0;
+    }
+
+    // Folder Methods
+    /**
+     * Creates a new folder for a user
+     */
+    public long addFolder(String folderName, long userId) {
+        SQLiteDatabase db = getWritableDatabase();
+        long folderId = -1;
+
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(KEY_FOLDER_NAME, folderName);
+            values.put(KEY_FOLDER_USER_ID, userId);
+            values.put(KEY_FOLDER_CREATED_AT, System.currentTimeMillis());
+
+            folderId = db.insertOrThrow(TABLE_FOLDERS, null, values);
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Folder added successfully: ID " + folderId + ", Name: " + folderName);
+        } catch (Exception e) {
+            Log.e(TAG, "Error adding folder: " + folderName, e);
+        } finally {
+            db.endTransaction();
+        }
+        return folderId;
+    }
+
+    /**
+     * Gets all folders for a user with the number of items in each, in one query.
+     * The counts are read from the trigger-maintained item_count column, so no
+     * items are scanned.
+     */
+    public List<Folder> getAllFolders(long userId) {
+        List<Folder> folders = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        String query = "SELECT " + FOLDER_COLUMNS + " FROM " + TABLE_FOLDERS +
+                " WHERE " + KEY_FOLDER_USER_ID + " = ? ORDER BY " + KEY_FOLDER_NAME + " ASC";
+
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(userId)});
+        try {
+            FolderRowMapper mapper = new FolderRowMapper(cursor);
+            while (cursor.moveToNext()) {
+                folders.add(mapper.mapRow(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting folders for user " + userId, e);
+        } finally {
+            cursor.close();
+        }
+        return folders;
+    }
+
+    /**
+     * Gets a folder by ID
+     */
+    public Folder getFolder(long folderId) {
+        SQLiteDatabase db = getReadableDatabase();
+        Folder folder = null;
+        String query = "SELECT " + FOLDER_COLUMNS + " FROM " + TABLE_FOLDERS + " WHERE " + KEY_FOLDER_ID + " = ?";
+
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId)});
+        try {
+            if (cursor.moveToFirst()) {
+                folder = new FolderRowMapper(cursor).mapRow(cursor);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting folder " + folderId, e);
+        } finally {
+            cursor.close();
+        }
+        return folder;
+    }
+
+    /**
+     * Updates a folder name
+     */
+    public boolean updateFolder(long folderId, String newName, long userId) {
+        SQLiteDatabase db = getWritableDatabase();
+        int rowsAffected = 0;
+
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(KEY_FOLDER_NAME, newName);
+
+            rowsAffected = db.update(TABLE_FOLDERS, values,
+                    KEY_FOLDER_ID + " = ? AND " + KEY_FOLDER_USER_ID + " = ?",
+                    new String[]{String.valueOf(folderId), String.valueOf(userId)});
+
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Folder updated: ID " + folderId + ", new name: " + newName);
+        } catch (Exception e) {
+            Log.e(TAG, "Error updating folder " + folderId, e);
+        } finally {
+            db.endTransaction();
+        }
+        return rowsAffected > 0;
+    }
+
+    /**
+     * Deletes a folder (only if empty for accidental data loss reasons)
+     */
+    public boolean deleteFolder(long folderId, long userId) {
+        SQLiteDatabase db = getWritableDatabase();
+        boolean success = false;
+
+        db.beginTransaction();
+        try {
+            // Check if folder has items
+            String countQuery = "SELECT " + KEY_FOLDER_ITEM_COUNT + " FROM " + TABLE_FOLDERS +
+                    " WHERE " + KEY_FOLDER_ID + " = ?";
+            Cursor cursor = db.rawQuery(countQuery, new String[]{String.valueOf(folderId)});
+
+            int itemCount = 0;
+            if (cursor.moveToFirst()) {
+                itemCount = cursor.getInt(0);
+            }
+            cursor.close();
+
+            if (itemCount > 0) {
+                Log.w(TAG, "Cannot delete folder " + folderId + ": contains " + itemCount + " items");
+                return false;
+            }
+
+            // Delete folder
+            int rowsAffected = db.delete(TABLE_FOLDERS,
+                    KEY_FOLDER_ID + " = ? AND " + KEY_FOLDER_USER_ID + " = ?",
+                    new String[]{String.valueOf(folderId), String.valueOf(userId)});
+
+            success = rowsAffected > 0;
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Folder deleted: ID " + folderId);
+        } catch (Exception e) {
+            Log.e(TAG, "Error deleting folder " + folderId, e);
+        } finally {
+            db.endTransaction();
+            itemDataVersion.incrementAndGet();
+        }
+        return success;
+    }
+
+    /**
+     * Gets count of items in a folder from its item_count column
+     */
+    public int getItemCountInFolder(long folderId) {
+        SQLiteDatabase db = getReadableDatabase();
+        int count = 0;
+        String query = "SELECT " + KEY_FOLDER_ITEM_COUNT + " FROM " + TABLE_FOLDERS +
+                " WHERE " + KEY_FOLDER_ID + " = ?";
+
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId)});
+        try {
+            if (cursor.moveToFirst()) {
+                count = cursor.getInt(0);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting item count for folder " + folderId, e);
+        } finally {
+            cursor.close();
+        }
+        return count;
+    }
+
+    /**
+     * Adds item to a specific folder
+     */
+    public long addItem(InventoryItem item, long userId, long folderId) {
+        SQLiteDatabase db = getWritableDatabase();
+        long itemId = -1;
+
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(KEY_ITEM_NAME, item.getName());
+            values.put(KEY_ITEM_QUANTITY, item.getQuantity());
+            values.put(KEY_ITEM_DESCRIPTION, item.getDescription());
+            values.put(KEY_ITEM_BARCODE, item.getBarcode());
+            values.put(KEY_ITEM_IMAGE_PATH, item.getImagePath());
+            values.put(KEY_ITEM_USER_ID, userId);
+            values.put(KEY_ITEM_FOLDER_ID, folderId);
+            values.put(KEY_ITEM_CREATED_AT, createdAtOrNow(item));
+
+            itemId = db.insertOrThrow(TABLE_INVENTORY_ITEMS, null, values);
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Item added to folder " + folderId + ": ID " + itemId + ", Name: " + item.getName());
+        } catch (Exception e) {
+            Log.e(TAG, "Error adding item to folder " + folderId, e);
+        } finally {
+            db.endTransaction();
+            itemDataVersion.incrementAndGet();
+        }
+        return itemId;
+    }
+
+    /**
+     * Adds many items to a folder in one transaction, reusing a single compiled
+     * INSERT statement for every row instead of building ContentValues per item.
+     * A row that fails (e.g. a missing name) is skipped and the rest are still added.
+     *
+     * @param items The items to add
+     * @param userId The ID of the owning user
+     * @param folderId The folder to add the items to
+     * @return The new item ID for each input item, in the same order, or -1 for
+     *         items that could not be added (all -1 if the transaction failed)
+     */
+    public long[] addItems(List<InventoryItem> items, long userId, long folderId) {
+        long[] itemIds = new long[items.size()];
+        Arrays.fill(itemIds, -1);
+        SQLiteDatabase db = getWritableDatabase();
+        String insert = "INSERT INTO " + TABLE_INVENTORY_ITEMS + "(" +
+                KEY_ITEM_NAME + ", " + KEY_ITEM_QUANTITY + ", " + KEY_ITEM_DESCRIPTION + ", " +
+                KEY_ITEM_BARCODE + ", " + KEY_ITEM_IMAGE_PATH + ", " + KEY_ITEM_USER_ID + ", " +
+                KEY_ITEM_FOLDER_ID + ", " + KEY_ITEM_CREATED_AT + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        int failedCount = 0;
+
+        db.beginTransaction();
+        SQLiteStatement statement = null;
+        try {
+            statement = db.compileStatement(insert);
+            for (int i = 0; i < items.size(); i++) {
+                InventoryItem item = items.get(i);
+                bindStringOrNull(statement, 1, item.getName());
+                statement.bindLong(2, item.getQuantity());
+                bindStringOrNull(statement, 3, item.getDescription());
+                bindStringOrNull(statement, 4, item.getBarcode());
+                bindStringOrNull(statement, 5, item.getImagePath());
+                statement.bindLong(6, userId);
+                statement.bindLong(7, folderId);
+                statement.bindLong(8, createdAtOrNow(item));
+
+                try {
+                    itemIds[i] = statement.executeInsert();
+                } catch (SQLException e) {
+                    // Only this row's insert is rolled back; the transaction continues
+                    Log.w(TAG, "Could not add item " + i + " (" + item.getName() + ") to folder " + folderId, e);
+                }
+                if (itemIds[i] == -1) {
+                    failedCount++;
+                }
+            }
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Added " + (items.size() - failedCount) + " of " + items.size() + " items to folder " + folderId);
+        } catch (Exception e) {
+            Log.e(TAG, "Error adding items to folder " + folderId, e);
+            Arrays.fill(itemIds, -1); // Nothing was committed
+        } finally {
+            if (statement != null) {
+                statement.close();
+            }
+            db.endTransaction();
+            itemDataVersion.incrementAndGet();
+        }
+        return itemIds;
+    }
+
+    private static void bindStringOrNull(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    /**
+     * Returns the item's creation time, or the current time if it has none, so the
+     * NO_TIMESTAMP sentinel is never stored in the NOT NULL created_at column.
+     */
+    private static long createdAtOrNow(InventoryItem item) {
+        return item.hasCreatedAt() ? item.getCreatedAtMillis() : System.currentTimeMillis();
+    }
+
+    /**
+     * Gets all items in a specific folder
+     */
+    public List<InventoryItem> getItemsInFolder(long folderId, long userId) {
+        List<InventoryItem> items = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        String query = "SELECT " + ITEM_COLUMNS + " FROM " + TABLE_INVENTORY_ITEMS +
+                " WHERE " + KEY_ITEM_FOLDER_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?";
+
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId), String.valueOf(userId)});
+        try {
+            ItemRowMapper mapper = new ItemRowMapper(cursor);
+            while (cursor.moveToNext()) {
+                items.add(mapper.mapRow(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting items for folder " + folderId, e);
+        } finally {
+            cursor.close();
+        }
+        return items;
+    }
+
+    /**
+     * Gets all items in a specific folder, already sorted by SQLite using the folder
+     * sort indexes. Items that tie on the sort column are ordered by ID in the same
+     * direction, so descending is the exact reverse of ascending, as in
+     * SortedInventoryList. Name ordering uses
+     * COLLATE NOCASE, which only folds ASCII letters. NAME_NATURAL cannot be expressed
+     * in SQL, so those rows are returned in ID order and must be sorted in memory
+     * (see {@link #canSortInDatabase(SortCriteria)}).
+     * Only the list columns are read: description, barcode and image path are null,
+     * so load the full item with getItem before editing it.
+     */
+    public List<InventoryItem> getItemsInFolder(long folderId, long userId, SortCriteria criteria, SortDirection direction) {
+        List<InventoryItem> items = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        String query = "SELECT " + ITEM_LIST_COLUMNS + " FROM " + TABLE_INVENTORY_ITEMS +
+                " WHERE " + KEY_ITEM_FOLDER_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?" +
+                " ORDER BY " + getOrderByClause(criteria, direction);
+
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId), String.valueOf(userId)});
+        try {
+            ItemRowMapper mapper = new ItemRowMapper(cursor);
+            while (cursor.moveToNext()) {
+                items.add(mapper.mapRow(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting sorted items for folder " + folderId, e);
+        } finally {
+            cursor.close();
+        }
+        return items;
+    }
+
+    /**
+     * Gets a folder's items as a columnar snapshot, reading only the columns it holds
+     * straight from the cursor into primitive arrays without per-row objects.
+     */
+    public FolderSnapshot getFolderSnapshot(long folderId, long userId) {
+        SQLiteDatabase db = getReadableDatabase();
+        String query = "SELECT " + KEY_ITEM_ID + ", " + KEY_ITEM_NAME + ", " + KEY_ITEM_QUANTITY + ", " +
+                KEY_ITEM_CREATED_AT + ", " + KEY_ITEM_FOLDER_ID + " FROM " + TABLE_INVENTORY_ITEMS +
+                " WHERE " + KEY_ITEM_FOLDER_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?" +
+                " ORDER BY " + KEY_ITEM_ID + " ASC";
+
+        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(folderId), String.valueOf(userId)});
+        FolderSnapshot snapshot = null;
+        try {
+            snapshot = new FolderSnapshot(cursor.getCount());
+            // Columns are in projection order
+            while (cursor.moveToNext()) {
+                snapshot.add(cursor.getLong(0), cursor.getString(1), cursor.getInt(2),
+                        cursor.getLong(3), cursor.getLong(4));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting snapshot for folder " + folderId, e);
+        } finally {
+            cursor.close();
+        }
+        return snapshot != null ? snapshot : new FolderSnapshot(0);
+    }
+
+    /**
+     * Gets one page of a folder's items in sort order, using keyset pagination: the
+     * page starts right after the given item's sort value and ID instead of skipping
+     * rows with OFFSET, so every page is an index range seek and takes the same time
+     * however deep into the folder it is. Rows are ordered as in the sorted
+     * getItemsInFolder, and only the list columns are read.
+     *
+     * @param afterItem The last item of the previous page, or null for the first page
+     * @param limit The maximum number of items to return, which must be positive; fewer
+     *              means the folder has no more
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public List<InventoryItem> getItemsInFolderPage(long folderId, long userId, SortCriteria criteria,
+                                                    SortDirection direction, InventoryItem afterItem, int limit) {
+        // SQLite reads a negative LIMIT as no limit, and an empty page would look like the end of the folder
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+        List<InventoryItem> items = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        StringBuilder query = new StringBuilder("SELECT " + ITEM_LIST_COLUMNS + " FROM " + TABLE_INVENTORY_ITEMS +
+                " WHERE " + KEY_ITEM_FOLDER_ID + " = ? AND " + KEY_ITEM_USER_ID + " = ?");
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(folderId));
+        args.add(String.valueOf(userId));
+
+        if (afterItem != null) {
+            String column = getSortColumn(criteria);
+            if (column == null) {
+                query.append(" AND ").append(KEY_ITEM_ID).append(" > ?");
+            } else {
+                // The first condition is the index range; the second skips the rows with
+                // the same sort value that were already returned (ties are in ID order,
+                // in the same direction as the sort)
+                boolean descending = direction == SortDirection.DESCENDING;
+                query.append(" AND ").append(column).append(descending ? " <= ?" : " >= ?")
+                        .append(" AND (").append(column).append(descending ? " < ?" : " > ?")
+                        .append(" OR ").append(KEY_ITEM_ID).append(descending ? " < ?)" : " > ?)");
+                String afterValue = getSortValue(afterItem, criteria);
+                args.add(afterValue);
+                args.add(afterValue);
+            }
+            args.add(String.valueOf(afterItem.getId()));
+        }
+        query.append(" ORDER BY ").append(getOrderByClause(criteria, direction)).append(" LIMIT ?");
+        args.add(String.valueOf(limit));
+
+        Cursor cursor = db.rawQuery(query.toString(), args.toArray(new String[0]));
+        try {
+            ItemRowMapper mapper = new ItemRowMapper(cursor);
+            while (cursor.moveToNext()) {
+                items.add(mapper.mapRow(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting page of items for folder " + folderId, e);
+        } finally {
+            cursor.close();
+        }
+        return items;
+    }
+
+    /**
+     * Returns whether getItemsInFolder can return rows already sorted by this criteria.
+     */
+    public static boolean canSortInDatabase(SortCriteria criteria) {
+        return criteria != SortCriteria.NAME_NATURAL;
+    }
+
+    /**
+     * Builds the ORDER BY clause for a sort criteria and direction, with the item ID as
+     * the final tie-breaker in the same direction. That is also the order of the sort
+     * index read forwards or backwards, so SQLite never sorts the ties separately.
+     */
+    private String getOrderByClause(SortCriteria criteria, SortDirection direction) {
+        String column = getSortColumn(criteria);
+        if (column == null) {
+            return KEY_ITEM_ID + " ASC";
+        }
+        String order = direction == SortDirection.DESCENDING ? " DESC" : " ASC";
+        return column + order + ", " + KEY_ITEM_ID + order;
+    }
+
+    /**
+     * Returns the column expression a criteria sorts by, or null if it cannot be sorted in SQL.
+     */
+    private String getSortColumn(SortCriteria criteria) {
+        if (!canSortInDatabase(criteria)) {
+            return null;
+        }
+        switch (criteria) {
+            case QUANTITY:
+                return KEY_ITEM_QUANTITY;
+            case DATE:
+                return KEY_ITEM_CREATED_AT;
+            case NAME:
+            default:
+                return KEY_ITEM_NAME + " COLLATE NOCASE";
+        }
+    }
+
+    /**
+     * Returns an item's value of the sort column as a query argument.
+     */
+    private String getSortValue(InventoryItem item, SortCriteria criteria) {
+        switch (criteria) {
+            case QUANTITY:
+                return String.valueOf(item.getQuantity());
+            case DATE:
+                return String.valueOf(item.getCreatedAtMillis());
+            case NAME:
+            default:
+                return item.getName();
+        }
+    }
+
+    /**
+     * Updates item including folder assignment
+     */
+    public int updateItem(InventoryItem item, long userId, long folderId) {
+        SQLiteDatabase db = getWritableDatabase();
+        int rowsAffected = 0;
+        SQLiteStatement statement = getCachedStatement(db, SQL_UPDATE_ITEM);
+
+        db.beginTransaction();
+        try {
+            synchronized (statement) {
+                try {
+                    bindStringOrNull(statement, 1, item.getName());
+                    statement.bindLong(2, item.getQuantity());
+                    bindStringOrNull(statement, 3, item.getDescription());
+                    bindStringOrNull(statement, 4, item.getBarcode());
+                    bindStringOrNull(statement, 5, item.getImagePath());
+                    statement.bindLong(6, folderId);
+                    statement.bindLong(7, item.getId());
+                    statement.bindLong(8, userId);
+                    rowsAffected = statement.executeUpdateDelete();
+                } finally {
+                    statement.clearBindings();
+                }
+            }
+            db.setTransactionSuccessful();
+            Log.i(TAG, "Item updated: ID " + item.getId() + ", moved to folder " + folderId);
+        } catch (Exception e) {
+            Log.e(TAG, "Error updating item " + item.getId(), e);
+        } finally {
+            db.endTransaction();
+            itemDataVersion.incrementAndGet();
+        }
+        return rowsAffected;
+    }
+
+    // Inventory Item Methods
+
+    /**
+     * Retrieves a single inventory item by its ID.
+     *
+     * @param itemId The ID of the item to retrieve.
+     * @return The InventoryItem object, or null if not found.
+     */
+    public InventoryItem getItem(long itemId) {
+        SQLiteDatabase db = getReadableDatabase();
+        InventoryItem item = null;
+
+        Cursor cursor = db.rawQuery(SQL_GET_ITEM, new String[]{String.valueOf(itemId)});
+        try {
+            if (cursor.moveToFirst()) {
+                item = new ItemRowMapper(cursor).mapRow(cursor);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error while trying to get item from database", e);
+        } finally {
+            if (cursor != null && !cursor.isClosed()) {
+                cursor.close();
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Finds the user's item with a scanned barcode. Barcodes are not unique, so if
+     * several items share one the oldest is returned.
+     *
+     * @return The item, or null if the user has no item with this barcode.
+     */
+    public InventoryItem getItemByBarcode(long userId, String barcode) {
+        if (barcode == null || barcode.isEmpty()) {
+            return null;
+        }
+        SQLiteDatabase db = getReadableDatabase();
+        InventoryItem item = null;
+
+        Cursor cursor = db.rawQuery(SQL_GET_ITEM_BY_BARCODE, new String[]{String.valueOf(userId), barcode});
+        try {
+            if (cursor.moveToFirst()) {
+                item = new ItemRowMapper(cursor).mapRow(cursor);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting item by barcode for user " + userId, e);
+        } finally {
+            cursor.close();
+        }
+        return item;
+    }
+
+    /**
+     * Finds the user's items for many scanned barcodes at once, with one IN query per
+     * MAX_BARCODES_PER_QUERY barcodes instead of a query per barcode. As with
+     * getItemByBarcode, a barcode shared by several items resolves to the oldest.
+     * The lookup succeeds or fails as a whole: if any query fails, the items found by
+     * the others are dropped too, so a missing barcode always means it has no item.
+     *
+     * @return The items by barcode, in the order the barcodes were given. Barcodes with
+     *         no item are left out. Empty if the lookup failed.
+     */
+    public Map<String, InventoryItem> getItemsByBarcodes(long userId, Collection<String> barcodes) {
+        // Drops duplicates and keeps the given order for the result
+        Set<String> uniqueBarcodes = new LinkedHashSet<>();
+        for (String barcode : barcodes) {
+            if (barcode != null && !barcode.isEmpty()) {
+                uniqueBarcodes.add(barcode);
+            }
+        }
+        Map<String, InventoryItem> items = new LinkedHashMap<>();
+        if (uniqueBarcodes.isEmpty()) {
+            return items;
+        }
+        SQLiteDatabase db = getReadableDatabase();
+        Map<String, InventoryItem> found = new HashMap<>();
+
+        List<String> args = new ArrayList<>();
+        Iterator<String> remaining = uniqueBarcodes.iterator();
+        try {
+            while (remaining.hasNext()) {
+                args.clear();
+                args.add(String.valueOf(userId));
+                StringBuilder placeholders = new StringBuilder();
+                while (remaining.hasNext() && args.size() <= MAX_BARCODES_PER_QUERY) {
+                    placeholders.append(placeholders.length() == 0 ? "?" : ", ?");
+                    args.add(remaining.next());
+                }
+                String query = "SELECT " + ITEM_COLUMNS + " FROM " + TABLE_INVENTORY_ITEMS +
+                        " WHERE " + KEY_ITEM_USER_ID + " = ? AND " + KEY_ITEM_BARCODE + " IN (" + placeholders + ")";
+
+                Cursor cursor = db.rawQuery(query, args.toArray(new String[0]));
+                try {
+                    ItemRowMapper mapper = new ItemRowMapper(cursor);
+                    int idIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_ID);
+                    int barcodeIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_BARCODE);
+                    while (cursor.moveToNext()) {
+                        String barcode = cursor.getString(barcodeIndex);
+                        InventoryItem existing = found.get(barcode);
+                        if (existing == null || cursor.getLong(idIndex) < existing.getId()) {
+                            found.put(barcode, mapper.mapRow(cursor));
+                        }
+                    }
+                } finally {
+                    cursor.close();
+                }
+            }
+        } catch (Exception e) {
+            // A partial result would look like barcodes with no item, so return nothing
+            Log.e(TAG, "Error getting items by barcode for user " + userId, e);
+            return items;
+        }
+
+        for (String barcode : uniqueBarcodes) {
+            InventoryItem item = found.get(barcode);
+            if (item != null) {
+                items.put(barcode, item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Searches the user's items in all folders by name, description and barcode. Every
+     * word of the query must match the start of a word in one of those columns, so
+     * "hex bo" finds "Hex bolt M8". Results are ranked best first with BM25 over the
+     * match statistics, weighting name matches above barcode and description matches.
+     *
+     * @param query The text typed by the user; characters other than letters and digits separate words
+     * @param limit The maximum number of items to return; must be positive
+     * @return The best matching items, or an empty list if the query has no words
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public List<InventoryItem> searchItems(long userId, String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive: " + limit);
+        }
+        List<InventoryItem> items = new ArrayList<>();
+        String matchQuery = toPrefixMatchQuery(query);
+        if (matchQuery == null) {
+            return items;
+        }
+
+        SQLiteDatabase db = getReadableDatabase();
+        // The subquery exposes only docid and the match statistics, so the item columns are unambiguous
+        String sql = "SELECT " + ITEM_COLUMNS + ", match_info FROM " + TABLE_INVENTORY_ITEMS +
+                " JOIN (SELECT docid, matchinfo(" + TABLE_ITEMS_SEARCH + ", 'pcnx') AS match_info" +
+                " FROM " + TABLE_ITEMS_SEARCH + " WHERE " + TABLE_ITEMS_SEARCH + " MATCH ?) AS matches" +
+                " ON " + KEY_ITEM_ID + " = matches.docid WHERE " + KEY_ITEM_USER_ID + " = ?";
+
+        // Keeps the best hits with the worst at the head; equal scores rank the older item first.
+        // It holds up to limit + 1 hits before the worst is dropped.
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(Math.min(limit, SEARCH_INITIAL_CAPACITY) + 1, (a, b) -> {
+            int result = Double.compare(a.score, b.score);
+            return result != 0 ? result : Long.compare(b.item.getId(), a.item.getId());
+        });
+        Cursor cursor = db.rawQuery(sql, new String[]{matchQuery, String.valueOf(userId)});
+        try {
+            ItemRowMapper mapper = new ItemRowMapper(cursor);
+            int matchInfoIndex = cursor.getColumnIndexOrThrow("match_info");
+            while (cursor.moveToNext()) {
+                double score = scoreSearchMatch(cursor.getBlob(matchInfoIndex));
+                if (best.size() == limit && score <= best.peek().score) {
+                    continue; // Not mapped, it would be dropped straight away
+                }
+                best.add(new SearchHit(mapper.mapRow(cursor), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error searching items for user " + userId, e);
+        } finally {
+            cursor.close();
+        }
+
+        while (!best.isEmpty()) {
+            items.add(best.poll().item);
+        }
+        Collections.reverse(items);
+        return items;
+    }
+
+    /**
+     * Turns typed text into an FTS query that matches every word as a prefix. Words are
+     * lower-cased so that AND, OR and NOT are searched for rather than read as operators.
+     *
+     * @return The match query, or null if the text has no words
+     */
+    private static String toPrefixMatchQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(word).append('*');
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Scores a row from its matchinfo 'pcnx' statistics with BM25, without length
+     * normalisation. The blob holds 32-bit integers: the phrase count, the column count,
+     * the row count, then for each phrase and column the hits in this row, the hits in
+     * all rows and the number of rows with a hit.
+     */
+    private static double scoreSearchMatch(byte[] matchInfo) {
+        IntBuffer stats = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phraseCount = stats.get(0);
+        int columnCount = stats.get(1);
+        int rowCount = stats.get(2);
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount && column < SEARCH_COLUMN_WEIGHTS.length; column++) {
+                int base = 3 + 3 * (phrase * columnCount + column);
+                int hits = stats.get(base);
+                if (hits == 0) {
+                    continue;
+                }
+                int rowsWithHits = stats.get(base + 2);
+                double idf = Math.log(1 + (rowCount - rowsWithHits + 0.5) / (rowsWithHits + 0.5));
+                double termFrequency = hits * (SEARCH_TERM_SATURATION + 1) / (hits + SEARCH_TERM_SATURATION);
+                score += SEARCH_COLUMN_WEIGHTS[column] * idf * termFrequency;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * An item found by searchItems with its rank score.
+     */
+    private static final class SearchHit {
+        final InventoryItem item;
+        final double score;
+
+        SearchHit(InventoryItem item, double score) {
+            this.item = item;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Deletes an inventory item, ensuring it belongs to the correct user.
+     *
+     * @param itemId The ID of the item to delete.
+     * @param userId The ID of the user attempting the deletion.
+     * @return The number of rows affected (should be 1 if successful).
+     */
+    public int deleteItem(long itemId, long userId) {
+        SQLiteDatabase db = getWritableDatabase();
+        int rowsAffected = 0;
+        SQLiteStatement statement = getCachedStatement(db, SQL_DELETE_ITEM);
+
+        db.beginTransaction();
+        try {
+            synchronized (statement) {
+                try {
+                    statement.bindLong(1, itemId);
+                    statement.bindLong(2, userId);
+                    rowsAffected = statement.executeUpdateDelete();
+                } finally {
+                    statement.clearBindings();
+                }
+            }
+            db.setTransactionSuccessful();
+            if (rowsAffected > 0) {
+                Log.i(TAG, "Item deleted successfully by user " + userId + ": ID " + itemId);
+            } else {
+                Log.w(TAG, "Item deletion failed or item not found/owned by user " + userId + ": ID " + itemId);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error while trying to delete item", e);
+        } finally {
+            db.endTransaction();
+            itemDataVersion.incrementAndGet();
+        }
+        return rowsAffected;
+    }
+
+    // Row Mappers
+
+    /**
+     * Maps folder rows selected with FOLDER_COLUMNS. The item count is optional.
+     */
+    private static final class FolderRowMapper implements RowMapper<Folder> {
+        private final int idIndex;
+        private final int nameIndex;
+        private final int userIdIndex;
+        private final int createdAtIndex;
+        private final int itemCountIndex; // -1 when not selected
+
+        FolderRowMapper(Cursor cursor) {
+            idIndex = cursor.getColumnIndexOrThrow(KEY_FOLDER_ID);
+            nameIndex = cursor.getColumnIndexOrThrow(KEY_FOLDER_NAME);
+            userIdIndex = cursor.getColumnIndexOrThrow(KEY_FOLDER_USER_ID);
+            createdAtIndex = cursor.getColumnIndexOrThrow(KEY_FOLDER_CREATED_AT);
+            itemCountIndex = cursor.getColumnIndex(KEY_FOLDER_ITEM_COUNT);
+        }
+
+        @Override
+        public Folder mapRow(Cursor cursor) {
+            Folder folder = new Folder(cursor.getLong(idIndex), cursor.getString(nameIndex),
+                    cursor.getLong(userIdIndex), cursor.getLong(createdAtIndex));
+            if (itemCountIndex != -1) {
+                folder.setItemCount(cursor.getInt(itemCountIndex));
+            }
+            return folder;
+        }
+    }
+
+    /**
+     * Maps item rows selected with ITEM_COLUMNS or ITEM_LIST_COLUMNS. Columns missing
+     * from the projection are left null.
+     */
+    private static final class ItemRowMapper implements RowMapper<InventoryItem> {
+        private final int idIndex;
+        private final int nameIndex;
+        private final int quantityIndex;
+        private final int descriptionIndex; // -1 when not selected
+        private final int barcodeIndex; // -1 when not selected
+        private final int imagePathIndex; // -1 when not selected
+        private final int folderIdIndex;
+        private final int createdAtIndex;
+
+        ItemRowMapper(Cursor cursor) {
+            idIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_ID);
+            nameIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_NAME);
+            quantityIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_QUANTITY);
+            descriptionIndex = cursor.getColumnIndex(KEY_ITEM_DESCRIPTION);
+            barcodeIndex = cursor.getColumnIndex(KEY_ITEM_BARCODE);
+            imagePathIndex = cursor.getColumnIndex(KEY_ITEM_IMAGE_PATH);
+            folderIdIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_FOLDER_ID);
+            createdAtIndex = cursor.getColumnIndexOrThrow(KEY_ITEM_CREATED_AT);
+        }
+
+        @Override
+        public InventoryItem mapRow(Cursor cursor) {
+            // Items migrated from version 2 may have no folder ID
+            long folderId = cursor.isNull(folderIdIndex) ? 0 : cursor.getLong(folderIdIndex);
+            return new InventoryItem(
+                    cursor.getLong(idIndex),
+                    cursor.getString(nameIndex),
+                    cursor.getInt(quantityIndex),
+                    descriptionIndex != -1 ? cursor.getString(descriptionIndex) : null,
+                    barcodeIndex != -1 ? cursor.getString(barcodeIndex) : null,
+                    imagePathIndex != -1 ? cursor.getString(imagePathIndex) : null,
+                    folderId,
+                    cursor.getLong(createdAtIndex));
+        }
+    }
+}
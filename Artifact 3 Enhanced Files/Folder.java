@@ -1,68 +1,130 @@
-package com.example.cs360inventoryapp.data.models;
-
-import java.io.Serializable;
-import java.util.Date;
-
-/**
- * Represents a folder for organizing inventory items
- */
-public class Folder implements Serializable {
-    private long id;
-    private String name;
-    private long userId;
-    private Date createdAt;
-
-    public Folder() {
-        this.createdAt = new Date();
-    }
-
-    public Folder(long id, String name, long userId, Date createdAt) {
-        this.id = id;
-        this.name = name;
-        this.userId = userId;
-        this.createdAt = createdAt;
-    }
-
-    // Getters and Setters
-    public long getId() {
-        return id;
-    }
-
-    public void setId(long id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public long getUserId() {
-        return userId;
-    }
-
-    public void setUserId(long userId) {
-        this.userId = userId;
-    }
-
-    public Date getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(Date createdAt) {
-        this.createdAt = createdAt;
-    }
-
-    @Override
-    public String toString() {
-        return "Folder{" +
-                "id=" + id +
-                ", name='" + name + '\'' +
-                ", userId=" + userId +
-                ", createdAt=" + createdAt +
-                '}';
-    }
+package com.example.cs360inventoryapp.data.models;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Represents a folder for organizing inventory items
+ */
+public class Folder implements Serializable, Parcelable {
+    private long id;
+    private String name;
+    private long userId;
+    private long createdAt; // Epoch milliseconds, or InventoryItem.NO_TIMESTAMP
+    private int itemCount; // Only set when loaded with counts
+
+    public Folder() {
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public Folder(long id, String name, long userId, Date createdAt) {
+        this(id, name, userId, createdAt != null ? createdAt.getTime() : InventoryItem.NO_TIMESTAMP);
+    }
+
+    public Folder(long id, String name, long userId, long createdAtMillis) {
+        this.id = id;
+        this.name = name;
+        this.userId = userId;
+        this.createdAt = createdAtMillis;
+    }
+
+    protected Folder(Parcel in) {
+        id = in.readLong();
+        name = in.readString();
+        userId = in.readLong();
+        createdAt = in.readLong();
+        itemCount = in.readInt();
+    }
+
+    public static final Creator<Folder> CREATOR = new Creator<Folder>() {
+        @Override
+        public Folder createFromParcel(Parcel in) {
+            return new Folder(in);
+        }
+
+        @Override
+        public Folder[] newArray(int size) {
+            return new Folder[size];
+        }
+    };
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeLong(id);
+        dest.writeString(name);
+        dest.writeLong(userId);
+        dest.writeLong(createdAt);
+        dest.writeInt(itemCount);
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Returns the creation time as a new Date, or null if it is not set.
+     */
+    public Date getCreatedAt() {
+        return createdAt != InventoryItem.NO_TIMESTAMP ? new Date(createdAt) : null;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt != null ? createdAt.getTime() : InventoryItem.NO_TIMESTAMP;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAt;
+    }
+
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAt = createdAtMillis;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Folder{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", userId=" + userId +
+                ", createdAt=" + getCreatedAt() +
+                ", itemCount=" + itemCount +
+                '}';
+    }
 }
\ No newline at end of file
@@ -1,255 +1,449 @@
-package com.example.cs360inventoryapp.activities;
-
-import android.content.Intent;
-import android.os.Bundle;
-import android.util.Log;
-import android.widget.TextView;
-import android.widget.ImageView;
-import android.widget.Button;
-import android.widget.ImageButton;
-import android.widget.Toast;
-import android.view.View;
-import android.widget.Spinner;
-import android.widget.ArrayAdapter;
-import android.widget.AdapterView;
-
-import androidx.appcompat.app.AlertDialog;
-import androidx.appcompat.app.AppCompatActivity;
-import androidx.recyclerview.widget.GridLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
-
-import com.example.cs360inventoryapp.R;
-import com.example.cs360inventoryapp.adapters.InventoryAdapter;
-import com.example.cs360inventoryapp.data.DatabaseHelper;
-import com.example.cs360inventoryapp.data.models.Folder;
-import com.example.cs360inventoryapp.data.models.InventoryItem;
-import com.example.cs360inventoryapp.utils.InventorySorter;
-import com.example.cs360inventoryapp.utils.InventoryComparators;
-
-import java.util.List;
-import java.util.Comparator;
-
-public class FolderContentsActivity extends AppCompatActivity implements InventoryAdapter.OnItemInteractionListener {
-
-    private static final String TAG = "FolderContentsActivity";
-    public static final String EXTRA_ITEM_ID = "com.example.cs360inventoryapp.ITEM_ID";
-
-    private RecyclerView recyclerViewInventory;
-    private InventoryAdapter inventoryAdapter;
-    private DatabaseHelper dbHelper;
-    private Button btnAddItem;
-    private ImageButton btnBack;
-    private TextView tvFolderName;
-    private ImageView ivSettings;
-    private TextView tvEmptyInventory;
-    private Spinner spinnerSortCriteria;
-    private Spinner spinnerSortDirection;
-
-    private long currentUserId = -1;
-    private long currentFolderId = -1;
-    private Folder currentFolder;
-
-    private List<InventoryItem> allItems;
-    private InventoryComparators.SortCriteria currentSortCriteria = InventoryComparators.SortCriteria.NAME;
-    private InventoryComparators.SortDirection currentSortDirection = InventoryComparators.SortDirection.ASCENDING;
-
-    @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_folder_contents);
-
-        // Get data from intent
-        Intent intent = getIntent();
-        if (intent != null) {
-            currentUserId = intent.getLongExtra(LoginActivity.EXTRA_USER_ID, -1);
-            currentFolderId = intent.getLongExtra(DashboardActivity.EXTRA_FOLDER_ID, -1);
-        }
-
-        if (currentUserId == -1 || currentFolderId == -1) {
-            Log.e(TAG, "Invalid User ID or Folder ID passed to FolderContentsActivity!");
-            Toast.makeText(this, "Error: Invalid session data.", Toast.LENGTH_LONG).show();
-            finish();
-            return;
-        }
-
-        Log.d(TAG, "FolderContents started for User ID: " + currentUserId + ", Folder ID: " + currentFolderId);
-
-        initializeViews();
-        loadFolderInfo();
-        setupRecyclerView();
-        setupSortingControls();
-        setupClickListeners();
-    }
-
-    private void initializeViews() {
-        recyclerViewInventory = findViewById(R.id.recyclerViewInventory);
-        btnAddItem = findViewById(R.id.btnAddItem);
-        btnBack = findViewById(R.id.btnBack);
-        ivSettings = findViewById(R.id.ivSettings);
-        tvFolderName = findViewById(R.id.tvFolderName);
-        tvEmptyInventory = findViewById(R.id.tvEmptyInventory);
-        spinnerSortCriteria = findViewById(R.id.spinnerSortCriteria);
-        spinnerSortDirection = findViewById(R.id.spinnerSortDirection);
-        dbHelper = DatabaseHelper.getInstance(this);
-    }
-
-    private void loadFolderInfo() {
-        currentFolder = dbHelper.getFolder(currentFolderId);
-        if (currentFolder != null) {
-            tvFolderName.setText(currentFolder.getName());
-        } else {
-            Log.e(TAG, "Folder not found with ID: " + currentFolderId);
-            Toast.makeText(this, "Error: Folder not found.", Toast.LENGTH_SHORT).show();
-            finish();
-        }
-    }
-
-    private void setupSortingControls() {
-        // Setup sort criteria spinner
-        String[] criteriaOptions = new String[InventoryComparators.SortCriteria.values().length];
-        for (int i = 0; i < InventoryComparators.SortCriteria.values().length; i++) {
-            criteriaOptions[i] = InventoryComparators.SortCriteria.values()[i].getDisplayName();
-        }
-
-        ArrayAdapter<String> criteriaAdapter = new ArrayAdapter<>(this,
-                android.R.layout.simple_spinner_item, criteriaOptions);
-        criteriaAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-        spinnerSortCriteria.setAdapter(criteriaAdapter);
-
-        // Setup sort direction spinner
-        String[] directionOptions = new String[InventoryComparators.SortDirection.values().length];
-        for (int i = 0; i < InventoryComparators.SortDirection.values().length; i++) {
-            directionOptions[i] = InventoryComparators.SortDirection.values()[i].getDisplayName();
-        }
-
-        ArrayAdapter<String> directionAdapter = new ArrayAdapter<>(this,
-                android.R.layout.simple_spinner_item, directionOptions);
-        directionAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-        spinnerSortDirection.setAdapter(directionAdapter);
-
-        // Set default selections
-        spinnerSortCriteria.setSelection(0);
-        spinnerSortDirection.setSelection(0);
-
-        // Setup listeners
-        spinnerSortCriteria.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
-            @Override
-            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                currentSortCriteria = InventoryComparators.SortCriteria.values()[position];
-                Log.d(TAG, "Sort criteria changed to: " + currentSortCriteria.getDisplayName());
-                applySorting();
-            }
-
-            @Override
-            public void onNothingSelected(AdapterView<?> parent) {}
-        });
-
-        spinnerSortDirection.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
-            @Override
-            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                currentSortDirection = InventoryComparators.SortDirection.values()[position];
-                Log.d(TAG, "Sort direction changed to: " + currentSortDirection.getDisplayName());
-                applySorting();
-            }
-
-            @Override
-            public void onNothingSelected(AdapterView<?> parent) {}
-        });
-    }
-
-    private void setupClickListeners() {
-        btnAddItem.setOnClickListener(v -> {
-            Intent addIntent = new Intent(FolderContentsActivity.this, AddEditItemActivity.class);
-            addIntent.putExtra(LoginActivity.EXTRA_USER_ID, currentUserId);
-            addIntent.putExtra(DashboardActivity.EXTRA_FOLDER_ID, currentFolderId);
-            startActivity(addIntent);
-        });
-
-        btnBack.setOnClickListener(v -> finish());
-
-        ivSettings.setOnClickListener(v -> {
-            Log.d(TAG, "Settings icon clicked.");
-            Intent settingsIntent = new Intent(FolderContentsActivity.this, SettingsActivity.class);
-            settingsIntent.putExtra(LoginActivity.EXTRA_USER_ID, currentUserId);
-            startActivity(settingsIntent);
-        });
-    }
-
-    @Override
-    protected void onResume() {
-        super.onResume();
-        if (currentUserId != -1 && currentFolderId != -1) {
-            loadInventoryItems();
-        }
-    }
-
-    private void setupRecyclerView() {
-        int numberOfColumns = 2;
-        recyclerViewInventory.setLayoutManager(new GridLayoutManager(this, numberOfColumns));
-        inventoryAdapter = new InventoryAdapter(this, this);
-        recyclerViewInventory.setAdapter(inventoryAdapter);
-    }
-
-    private void loadInventoryItems() {
-        allItems = dbHelper.getItemsInFolder(currentFolderId, currentUserId);
-        Log.d(TAG, "Loaded " + allItems.size() + " items from folder " + currentFolderId + " for user " + currentUserId);
-        applySorting();
-    }
-
-    private void applySorting() {
-        if (allItems == null) {
-            return;
-        }
-
-        Log.d(TAG, "Applying sort: " + currentSortCriteria.getDisplayName() + " " + currentSortDirection.getDisplayName());
-
-        Comparator<InventoryItem> comparator = InventoryComparators.getComparator(currentSortCriteria, currentSortDirection);
-        List<InventoryItem> sortedItems = InventorySorter.mergeSort(allItems, comparator);
-
-        inventoryAdapter.setItems(sortedItems);
-
-        // Toggle visibility based on list content
-        if (sortedItems.isEmpty()) {
-            recyclerViewInventory.setVisibility(View.GONE);
-            tvEmptyInventory.setVisibility(View.VISIBLE);
-            Log.d(TAG, "Folder " + currentFolderId + " is empty. Showing placeholder.");
-        } else {
-            recyclerViewInventory.setVisibility(View.VISIBLE);
-            tvEmptyInventory.setVisibility(View.GONE);
-            Log.d(TAG, "Folder contents displayed: " + sortedItems.size() + " items.");
-        }
-    }
-
-    // InventoryAdapter.OnItemInteractionListener implementation
-
-    @Override
-    public void onItemEditClick(InventoryItem item) {
-        Log.d(TAG, "Edit clicked for item: " + item.getName());
-        Intent intent = new Intent(FolderContentsActivity.this, AddEditItemActivity.class);
-        intent.putExtra(EXTRA_ITEM_ID, item.getId());
-        intent.putExtra(LoginActivity.EXTRA_USER_ID, currentUserId);
-        intent.putExtra(DashboardActivity.EXTRA_FOLDER_ID, currentFolderId);
-        startActivity(intent);
-    }
-
-    @Override
-    public void onItemDeleteClick(InventoryItem item) {
-        Log.d(TAG, "Delete clicked for item: " + item.getName());
-        // Show confirmation dialog before deleting
-        new AlertDialog.Builder(this)
-                .setTitle("Delete Item")
-                .setMessage("Are you sure you want to delete '" + item.getName() + "'?")
-                .setPositiveButton(android.R.string.yes, (dialog, which) -> {
-                    int rowsAffected = dbHelper.deleteItem(item.getId(), currentUserId);
-                    if (rowsAffected > 0) {
-                        Toast.makeText(FolderContentsActivity.this, "Item deleted.", Toast.LENGTH_SHORT).show();
-                        loadInventoryItems(); // Refresh the list
-                    } else {
-                        Toast.makeText(FolderContentsActivity.this, "Error deleting item.", Toast.LENGTH_SHORT).show();
-                    }
-                })
-                .setNegativeButton(android.R.string.no, null)
-                .setIcon(android.R.drawable.ic_dialog_alert)
-                .show();
-    }
+package com.example.cs360inventoryapp.activities;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.TextView;
+import android.widget.ImageView;
+import android.widget.Button;
+import android.widget.ImageButton;
+import android.widget.Toast;
+import android.view.View;
+import android.widget.Spinner;
+import android.widget.ArrayAdapter;
+import android.widget.AdapterView;
+
+import androidx.activity.result.ActivityResult;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.cs360inventoryapp.R;
+import com.example.cs360inventoryapp.adapters.InventoryAdapter;
+import com.example.cs360inventoryapp.data.DatabaseHelper;
+import com.example.cs360inventoryapp.data.models.Folder;
+import com.example.cs360inventoryapp.data.models.InventoryItem;
+import com.example.cs360inventoryapp.utils.InventoryComparators;
+import com.example.cs360inventoryapp.utils.SortedInventoryList;
+
+import java.util.List;
+
+public class FolderContentsActivity extends AppCompatActivity implements InventoryAdapter.OnItemInteractionListener {
+
+    private static final String TAG = "FolderContentsActivity";
+    public static final String EXTRA_ITEM_ID = "com.example.cs360inventoryapp.ITEM_ID";
+    public static final String EXTRA_ITEM_DELETED = "com.example.cs360inventoryapp.ITEM_DELETED";
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_DISTANCE = 20; // Load the next page when this close to the end
+
+    private RecyclerView recyclerViewInventory;
+    private InventoryAdapter inventoryAdapter;
+    private DatabaseHelper dbHelper;
+    private Button btnAddItem;
+    private ImageButton btnBack;
+    private TextView tvFolderName;
+    private ImageView ivSettings;
+    private TextView tvEmptyInventory;
+    private Spinner spinnerSortCriteria;
+    private Spinner spinnerSortDirection;
+
+    private long currentUserId = -1;
+    private long currentFolderId = -1;
+    private Folder currentFolder;
+
+    private InventoryComparators.SortCriteria currentSortCriteria = InventoryComparators.SortCriteria.NAME;
+    private InventoryComparators.SortDirection currentSortDirection = InventoryComparators.SortDirection.ASCENDING;
+    private final SortedInventoryList sortedItems = new SortedInventoryList(currentSortCriteria, currentSortDirection);
+    private boolean itemsLoaded = false;
+    private boolean loadingItems = false; // A loadInventoryItems query has not returned yet
+    private boolean allItemsLoaded = false;
+    private boolean nextPageRequested = false;
+    private int itemLoadCount = 0; // Identifies the latest loadInventoryItems call and its pages
+    private InventoryItem lastPageItem; // Last item of the last loaded page, where the next page starts
+    private long loadedDataVersion; // DatabaseHelper item data version the shown items are up to date with
+
+    // Opens the add/edit screen and applies the item it returns
+    private final ActivityResultLauncher<Intent> editItemLauncher = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(), this::onEditItemResult);
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_folder_contents);
+
+        // Get data from intent
+        Intent intent = getIntent();
+        if (intent != null) {
+            currentUserId = intent.getLongExtra(LoginActivity.EXTRA_USER_ID, -1);
+            currentFolderId = intent.getLongExtra(DashboardActivity.EXTRA_FOLDER_ID, -1);
+        }
+
+        if (currentUserId == -1 || currentFolderId == -1) {
+            Log.e(TAG, "Invalid User ID or Folder ID passed to FolderContentsActivity!");
+            Toast.makeText(this, "Error: Invalid session data.", Toast.LENGTH_LONG).show();
+            finish();
+            return;
+        }
+
+        Log.d(TAG, "FolderContents started for User ID: " + currentUserId + ", Folder ID: " + currentFolderId);
+
+        initializeViews();
+        loadFolderInfo();
+        setupRecyclerView();
+        setupSortingControls();
+        setupClickListeners();
+    }
+
+    private void initializeViews() {
+        recyclerViewInventory = findViewById(R.id.recyclerViewInventory);
+        btnAddItem = findViewById(R.id.btnAddItem);
+        btnBack = findViewById(R.id.btnBack);
+        ivSettings = findViewById(R.id.ivSettings);
+        tvFolderName = findViewById(R.id.tvFolderName);
+        tvEmptyInventory = findViewById(R.id.tvEmptyInventory);
+        spinnerSortCriteria = findViewById(R.id.spinnerSortCriteria);
+        spinnerSortDirection = findViewById(R.id.spinnerSortDirection);
+        dbHelper = DatabaseHelper.getInstance(this);
+    }
+
+    private void loadFolderInfo() {
+        currentFolder = dbHelper.getFolder(currentFolderId);
+        if (currentFolder != null) {
+            tvFolderName.setText(currentFolder.getName());
+        } else {
+            Log.e(TAG, "Folder not found with ID: " + currentFolderId);
+            Toast.makeText(this, "Error: Folder not found.", Toast.LENGTH_SHORT).show();
+            finish();
+        }
+    }
+
+    private void setupSortingControls() {
+        // Setup sort criteria spinner
+        String[] criteriaOptions = new String[InventoryComparators.SortCriteria.values().length];
+        for (int i = 0; i < InventoryComparators.SortCriteria.values().length; i++) {
+            criteriaOptions[i] = InventoryComparators.SortCriteria.values()[i].getDisplayName();
+        }
+
+        ArrayAdapter<String> criteriaAdapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_item, criteriaOptions);
+        criteriaAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerSortCriteria.setAdapter(criteriaAdapter);
+
+        // Setup sort direction spinner
+        String[] directionOptions = new String[InventoryComparators.SortDirection.values().length];
+        for (int i = 0; i < InventoryComparators.SortDirection.values().length; i++) {
+            directionOptions[i] = InventoryComparators.SortDirection.values()[i].getDisplayName();
+        }
+
+        ArrayAdapter<String> directionAdapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_item, directionOptions);
+        directionAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerSortDirection.setAdapter(directionAdapter);
+
+        // Set default selections
+        spinnerSortCriteria.setSelection(0);
+        spinnerSortDirection.setSelection(0);
+
+        // Setup listeners
+        spinnerSortCriteria.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                currentSortCriteria = InventoryComparators.SortCriteria.values()[position];
+                Log.d(TAG, "Sort criteria changed to: " + currentSortCriteria.getDisplayName());
+                applySorting();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {}
+        });
+
+        spinnerSortDirection.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                currentSortDirection = InventoryComparators.SortDirection.values()[position];
+                Log.d(TAG, "Sort direction changed to: " + currentSortDirection.getDisplayName());
+                applySorting();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {}
+        });
+    }
+
+    private void setupClickListeners() {
+        btnAddItem.setOnClickListener(v -> {
+            Intent addIntent = new Intent(FolderContentsActivity.this, AddEditItemActivity.class);
+            addIntent.putExtra(LoginActivity.EXTRA_USER_ID, currentUserId);
+            addIntent.putExtra(DashboardActivity.EXTRA_FOLDER_ID, currentFolderId);
+            editItemLauncher.launch(addIntent);
+        });
+
+        btnBack.setOnClickListener(v -> finish());
+
+        ivSettings.setOnClickListener(v -> {
+            Log.d(TAG, "Settings icon clicked.");
+            Intent settingsIntent = new Intent(FolderContentsActivity.this, SettingsActivity.class);
+            settingsIntent.putExtra(LoginActivity.EXTRA_USER_ID, currentUserId);
+            startActivity(settingsIntent);
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Changes made on the edit screen are applied one item at a time in onEditItemResult,
+        // so this only reloads for changes made anywhere else
+        if (currentUserId != -1 && currentFolderId != -1
+                && (!itemsLoaded || dbHelper.getItemDataVersion() != loadedDataVersion)) {
+            loadInventoryItems();
+        }
+    }
+
+    private void onEditItemResult(ActivityResult result) {
+        Intent data = result.getData();
+        if (result.getResultCode() != RESULT_OK || data == null) {
+            return;
+        }
+
+        long itemId = data.getLongExtra(EXTRA_ITEM_ID, -1);
+        if (itemId == -1) {
+            return;
+        }
+
+        // Only the changed row is redrawn, at the positions the sorted list reports
+        if (data.getBooleanExtra(EXTRA_ITEM_DELETED, false)) {
+            removeDisplayedItem(itemId);
+        } else {
+            // Re-read only the changed item; it may have been moved out of this folder
+            InventoryItem changedItem = dbHelper.getItem(itemId);
+            if (changedItem != null && changedItem.getFolderId() == currentFolderId && isInLoadedRange(changedItem)) {
+                int fromPosition = sortedItems.remove(itemId);
+                int toPosition = sortedItems.insert(changedItem);
+                if (fromPosition == -1) {
+                    inventoryAdapter.insertItem(toPosition, changedItem);
+                } else {
+                    inventoryAdapter.moveItem(fromPosition, toPosition, changedItem);
+                }
+            } else {
+                removeDisplayedItem(itemId);
+            }
+        }
+        // The edit screen changes only this item, so the rest of the loaded items are still current
+        loadedDataVersion = dbHelper.getItemDataVersion();
+        Log.d(TAG, "Applied change to item " + itemId + " without reloading folder " + currentFolderId);
+        updateEmptyState();
+    }
+
+    private void removeDisplayedItem(long itemId) {
+        int position = sortedItems.remove(itemId);
+        if (position != -1) {
+            inventoryAdapter.removeItem(position);
+        }
+    }
+
+    private void setupRecyclerView() {
+        int numberOfColumns = 2;
+        recyclerViewInventory.setLayoutManager(new GridLayoutManager(this, numberOfColumns));
+        inventoryAdapter = new InventoryAdapter(this, this);
+        recyclerViewInventory.setAdapter(inventoryAdapter);
+
+        // Load the next page as the grid nears the end of the loaded items
+        recyclerViewInventory.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0 || allItemsLoaded || nextPageRequested) {
+                    return;
+                }
+                GridLayoutManager layoutManager = (GridLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition() >= sortedItems.size() - PREFETCH_DISTANCE) {
+                    // The adapter cannot change inside a scroll callback
+                    nextPageRequested = true;
+                    recyclerView.post(FolderContentsActivity.this::loadNextPage);
+                }
+            }
+        });
+    }
+
+    private void loadInventoryItems() {
+        // Read before querying, so a write that lands during the load still triggers a reload
+        loadedDataVersion = dbHelper.getItemDataVersion();
+        lastPageItem = null;
+        loadingItems = true;
+
+        // The queries run off the main thread; a result is dropped if a newer load has started
+        int load = ++itemLoadCount;
+        InventoryComparators.SortCriteria criteria = currentSortCriteria;
+        InventoryComparators.SortDirection direction = currentSortDirection;
+        if (DatabaseHelper.canSortInDatabase(criteria)) {
+            // Only the first page is read now; rows come back already in the current sort order
+            dbHelper.submitRead(() -> dbHelper.getItemsInFolderPage(currentFolderId, currentUserId,
+                    criteria, direction, null, PAGE_SIZE), page -> {
+                if (isCurrentLoad(load)) {
+                    // The old items are dropped before the order changes, so they are not re-sorted
+                    sortedItems.clear();
+                    sortedItems.setOrder(criteria, direction);
+                    sortedItems.setSortedItems(page);
+                    onPageLoaded(page);
+                    onItemsLoaded();
+                }
+            });
+        } else {
+            // Natural name order cannot be expressed in SQL, so the whole folder is sorted in memory
+            dbHelper.submitRead(() -> dbHelper.getItemsInFolder(currentFolderId, currentUserId,
+                    criteria, direction), allItems -> {
+                if (isCurrentLoad(load)) {
+                    sortedItems.clear();
+                    sortedItems.setOrder(criteria, direction);
+                    sortedItems.setItems(allItems);
+                    allItemsLoaded = true;
+                    onItemsLoaded();
+                }
+            });
+        }
+    }
+
+    private void onItemsLoaded() {
+        Log.d(TAG, "Loaded " + sortedItems.size() + " items from folder " + currentFolderId + " for user " + currentUserId);
+        itemsLoaded = true;
+        loadingItems = false;
+        nextPageRequested = false; // A page requested by an earlier load was dropped
+        displayItems();
+    }
+
+    private void loadNextPage() {
+        if (!itemsLoaded || loadingItems || allItemsLoaded) {
+            nextPageRequested = false;
+            return;
+        }
+
+        // nextPageRequested stays set until the page arrives, so it is requested only once
+        int load = itemLoadCount;
+        InventoryItem afterItem = lastPageItem;
+        InventoryComparators.SortCriteria criteria = currentSortCriteria;
+        InventoryComparators.SortDirection direction = currentSortDirection;
+        dbHelper.submitRead(() -> dbHelper.getItemsInFolderPage(currentFolderId, currentUserId,
+                criteria, direction, afterItem, PAGE_SIZE), page -> {
+            if (!isCurrentLoad(load)) {
+                return;
+            }
+            nextPageRequested = false;
+            int previousSize = sortedItems.size();
+            sortedItems.appendSortedItems(page);
+            onPageLoaded(page);
+            Log.d(TAG, "Loaded page of " + page.size() + " items, " + sortedItems.size() + " items loaded");
+            if (sortedItems.size() == previousSize + page.size()) {
+                inventoryAdapter.appendItems(page);
+                updateEmptyState();
+            } else {
+                // The page repeated items already shown, which moved, so redraw everything
+                displayItems();
+            }
+        });
+    }
+
+    /**
+     * Returns whether a query result belongs to the latest load and the screen is still there to show it.
+     */
+    private boolean isCurrentLoad(int load) {
+        return !isDestroyed() && load == itemLoadCount;
+    }
+
+    private void onPageLoaded(List<InventoryItem> page) {
+        if (!page.isEmpty()) {
+            lastPageItem = page.get(page.size() - 1);
+        }
+        allItemsLoaded = page.size() < PAGE_SIZE;
+    }
+
+    /**
+     * Returns whether an item sorts within the pages loaded so far. Items after the
+     * last loaded page are left for a later page to load.
+     */
+    private boolean isInLoadedRange(InventoryItem item) {
+        if (allItemsLoaded || lastPageItem == null) {
+            return true;
+        }
+        // The list breaks ties by ID in the same order as the page queries
+        return sortedItems.getComparator().compare(item, lastPageItem) < 0;
+    }
+
+    private void applySorting() {
+        if (!itemsLoaded && !loadingItems) {
+            return;
+        }
+
+        Log.d(TAG, "Applying sort: " + currentSortCriteria.getDisplayName() + " " + currentSortDirection.getDisplayName());
+
+        if (allItemsLoaded && !loadingItems) {
+            sortedItems.setOrder(currentSortCriteria, currentSortDirection);
+            displayItems();
+        } else {
+            // Only part of the folder is loaded, or a load in the old order is still running,
+            // so start again from the first page in the new order
+            loadInventoryItems();
+            recyclerViewInventory.scrollToPosition(0);
+        }
+    }
+
+    /**
+     * Shows the whole list again. Used after loads and re-sorts; single-item changes
+     * update the adapter at their positions instead.
+     */
+    private void displayItems() {
+        inventoryAdapter.setItems(sortedItems.getItems());
+        updateEmptyState();
+    }
+
+    private void updateEmptyState() {
+        // Toggle visibility based on list content
+        if (sortedItems.isEmpty()) {
+            recyclerViewInventory.setVisibility(View.GONE);
+            tvEmptyInventory.setVisibility(View.VISIBLE);
+            Log.d(TAG, "Folder " + currentFolderId + " is empty. Showing placeholder.");
+        } else {
+            recyclerViewInventory.setVisibility(View.VISIBLE);
+            tvEmptyInventory.setVisibility(View.GONE);
+            Log.d(TAG, "Folder contents displayed: " + sortedItems.size() + " items.");
+        }
+    }
+
+    // InventoryAdapter.OnItemInteractionListener implementation
+
+    @Override
+    public void onItemEditClick(InventoryItem item) {
+        Log.d(TAG, "Edit clicked for item: " + item.getName());
+        Intent intent = new Intent(FolderContentsActivity.this, AddEditItemActivity.class);
+        intent.putExtra(EXTRA_ITEM_ID, item.getId());
+        intent.putExtra(LoginActivity.EXTRA_USER_ID, currentUserId);
+        intent.putExtra(DashboardActivity.EXTRA_FOLDER_ID, currentFolderId);
+        editItemLauncher.launch(intent);
+    }
+
+    @Override
+    public void onItemDeleteClick(InventoryItem item) {
+        Log.d(TAG, "Delete clicked for item: " + item.getName());
+        // Show confirmation dialog before deleting
+        new AlertDialog.Builder(this)
+                .setTitle("Delete Item")
+                .setMessage("Are you sure you want to delete '" + item.getName() + "'?")
+                .setPositiveButton(android.R.string.yes, (dialog, which) -> {
+                    int rowsAffected = dbHelper.deleteItem(item.getId(), currentUserId);
+                    if (rowsAffected > 0) {
+                        Toast.makeText(FolderContentsActivity.this, "Item deleted.", Toast.LENGTH_SHORT).show();
+                        removeDisplayedItem(item.getId());
+                        loadedDataVersion = dbHelper.getItemDataVersion();
+                        updateEmptyState();
+                    } else {
+                        Toast.makeText(FolderContentsActivity.this, "Error deleting item.", Toast.LENGTH_SHORT).show();
+                    }
+                })
+                .setNegativeButton(android.R.string.no, null)
+                .setIcon(android.R.drawable.ic_dialog_alert)
+                .show();
+    }
 }
\ No newline at end of file
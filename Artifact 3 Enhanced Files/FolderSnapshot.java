@@ -0,0 +1,133 @@
+package com.example.cs360inventoryapp.data.models;
+
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortCriteria;
+import com.example.cs360inventoryapp.utils.InventoryComparators.SortDirection;
+import com.example.cs360inventoryapp.utils.SortKeyColumns;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented (struct-of-arrays) copy of a folder's contents, holding one
+ * primitive array per field instead of one InventoryItem per row.
+ * Sorting, filtering and aggregation run directly over the arrays.
+ */
+public class FolderSnapshot {
+    private final long[] ids;
+    private final String[] names;
+    private final int[] quantities;
+    private final long[] createdAt; // Epoch milliseconds
+    private final long[] folderIds;
+    private int size;
+    private SortKeyColumns sortKeys; // Built on the first sort
+
+    public FolderSnapshot(int capacity) {
+        ids = new long[capacity];
+        names = new String[capacity];
+        quantities = new int[capacity];
+        createdAt = new long[capacity];
+        folderIds = new long[capacity];
+    }
+
+    /**
+     * Appends a row. Used while filling the snapshot from a cursor.
+     */
+    public void add(long id, String name, int quantity, long createdAtMillis, long folderId) {
+        ids[size] = id;
+        names[size] = name;
+        quantities[size] = quantity;
+        createdAt[size] = createdAtMillis;
+        folderIds[size] = folderId;
+        size++;
+        sortKeys = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Row accessors
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    public int getQuantity(int row) {
+        return quantities[row];
+    }
+
+    public long getCreatedAtMillis(int row) {
+        return createdAt[row];
+    }
+
+    public long getFolderId(int row) {
+        return folderIds[row];
+    }
+
+    /**
+     * Returns the sum of all quantities.
+     */
+    public long getTotalQuantity() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += quantities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of rows with a quantity of zero or less.
+     */
+    public int getOutOfStockCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (quantities[i] <= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows whose quantity is at or below the given level, in row order.
+     */
+    public int[] filterByMaxQuantity(int maxQuantity) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (quantities[i] <= maxQuantity) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Returns the rows in sorted order, using the same stable ordering as InventorySorter.
+     *
+     * @param criteria The field to sort by
+     * @param direction The sort direction
+     * @return Row numbers in sorted order
+     */
+    public int[] sortedRows(SortCriteria criteria, SortDirection direction) {
+        if (sortKeys == null) {
+            // The arrays are only trimmed if the snapshot was not filled to capacity
+            sortKeys = size == ids.length
+                    ? new SortKeyColumns(names, quantities, createdAt)
+                    : new SortKeyColumns(Arrays.copyOf(names, size), Arrays.copyOf(quantities, size),
+                            Arrays.copyOf(createdAt, size));
+        }
+        return sortKeys.sortedPermutation(criteria, direction);
+    }
+
+    /**
+     * Builds an InventoryItem for a single row, e.g. for the visible rows of a list.
+     * Description, barcode and image path are not part of the snapshot.
+     */
+    public InventoryItem toItem(int row) {
+        return new InventoryItem(ids[row], names[row], quantities[row], null, null, null,
+                folderIds[row], createdAt[row]);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.cs360inventoryapp.data.models;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of InventoryItem and Folder for plain Java streams,
+ * used instead of Java serialization. Fields are written in a fixed order with no
+ * class metadata: IDs and lengths are variable-length integers, strings are UTF-8
+ * and the creation time is a fixed 8-byte long. Lists start with a format version
+ * and the element count.
+ */
+public final class InventoryCodec {
+
+    private static final int FORMAT_VERSION = 1;
+    // Upper bound for the initial list capacity, so a corrupt count cannot force a huge allocation
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private InventoryCodec() {
+    }
+
+    // Items
+
+    public static void writeItem(DataOutput out, InventoryItem item) throws IOException {
+        writeVarLong(out, item.getId());
+        writeString(out, item.getName());
+        writeVarInt(out, zigZag(item.getQuantity()));
+        writeString(out, item.getDescription());
+        writeString(out, item.getBarcode());
+        writeString(out, item.getImagePath());
+        writeVarLong(out, item.getFolderId());
+        out.writeLong(item.getCreatedAtMillis());
+    }
+
+    public static InventoryItem readItem(DataInput in) throws IOException {
+        long id = readVarLong(in);
+        String name = readString(in);
+        int quantity = unZigZag(readVarInt(in));
+        String description = readString(in);
+        String barcode = readString(in);
+        String imagePath = readString(in);
+        long folderId = readVarLong(in);
+        long createdAt = in.readLong();
+        return new InventoryItem(id, name, quantity, description, barcode, imagePath, folderId, createdAt);
+    }
+
+    public static void writeItems(DataOutput out, List<InventoryItem> items) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        writeVarInt(out, items.size());
+        for (InventoryItem item : items) {
+            writeItem(out, item);
+        }
+    }
+
+    public static List<InventoryItem> readItems(DataInput in) throws IOException {
+        int count = readListHeader(in);
+        List<InventoryItem> items = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            items.add(readItem(in));
+        }
+        return items;
+    }
+
+    // Folders
+
+    public static void writeFolder(DataOutput out, Folder folder) throws IOException {
+        writeVarLong(out, folder.getId());
+        writeString(out, folder.getName());
+        writeVarLong(out, folder.getUserId());
+        out.writeLong(folder.getCreatedAtMillis());
+        writeVarInt(out, folder.getItemCount());
+    }
+
+    public static Folder readFolder(DataInput in) throws IOException {
+        long id = readVarLong(in);
+        String name = readString(in);
+        long userId = readVarLong(in);
+        long createdAt = in.readLong();
+        Folder folder = new Folder(id, name, userId, createdAt);
+        folder.setItemCount(readVarInt(in));
+        return folder;
+    }
+
+    public static void writeFolders(DataOutput out, List<Folder> folders) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        writeVarInt(out, folders.size());
+        for (Folder folder : folders) {
+            writeFolder(out, folder);
+        }
+    }
+
+    public static List<Folder> readFolders(DataInput in) throws IOException {
+        int count = readListHeader(in);
+        List<Folder> folders = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            folders.add(readFolder(in));
+        }
+        return folders;
+    }
+
+    // Byte array helpers
+
+    public static byte[] encodeItems(List<InventoryItem> items) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writeItems(new DataOutputStream(bytes), items);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<InventoryItem> decodeItems(byte[] data) throws IOException {
+        return readItems(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    public static byte[] encodeFolders(List<Folder> folders) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writeFolders(new DataOutputStream(bytes), folders);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<Folder> decodeFolders(byte[] data) throws IOException {
+        return readFolders(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    // Primitives
+
+    private static int readListHeader(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + version);
+        }
+        int count = readVarInt(in);
+        if (count < 0) {
+            throw new IOException("Invalid element count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one (zero for null) followed by the bytes.
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Maps small negative values to small unsigned values: 0, -1, 1, -2 -> 0, 1, 2, 3
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes an unsigned value seven bits at a time, low bits first, with the high bit
+     * of each byte set while more bytes follow.
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+}
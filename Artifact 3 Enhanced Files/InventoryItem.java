@@ -1,112 +1,183 @@
-package com.example.cs360inventoryapp.data.models;
-
-import java.io.Serializable;
-import java.util.Date;
-
-/**
- * Represents an inventory item.
- * Implements Serializable to allow passing between activities via Intent extras.
- */
-public class InventoryItem implements Serializable {
-
-    private long id;
-    private String name;
-
-    private int quantity;
-    private String description;
-    private String barcode;
-    private String imagePath;
-    private long folderId; // Foreign key to folder
-    private Date createdAt;
-
-    public InventoryItem() {
-        this.createdAt = new Date(); // Defaults to current time
-    }
-
-    public InventoryItem(long id, String name, int quantity, String description, String barcode, String imagePath, long folderId, Date createdAt) {
-        this.id = id;
-        this.name = name;
-        this.quantity = quantity;
-        this.description = description;
-        this.barcode = barcode;
-        this.imagePath = imagePath;
-        this.folderId = folderId;
-        this.createdAt = createdAt;
-    }
-
-    // Getters and Setters
-    public long getId() {
-        return id;
-    }
-
-    public void setId(long id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public int getQuantity() {
-        return quantity;
-    }
-
-    public void setQuantity(int quantity) {
-        this.quantity = quantity;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    public String getBarcode() {
-        return barcode;
-    }
-
-    public void setBarcode(String barcode) {
-        this.barcode = barcode;
-    }
-
-    public String getImagePath() {
-        return imagePath;
-    }
-
-    public void setImagePath(String imagePath) {
-        this.imagePath = imagePath;
-    }
-
-    public long getFolderId() {
-        return folderId;
-    }
-
-    public void setFolderId(long folderId) {
-        this.folderId = folderId;
-    }
-
-    public Date getCreatedAt() {
-        return createdAt;
-    }
-
-    public void setCreatedAt(Date createdAt) {
-        this.createdAt = createdAt;
-    }
-
-    @Override
-    public String toString() {
-        return "InventoryItem{" +
-                "id=" + id +
-                ", name='" + name + '\'' +
-                ", quantity=" + quantity +
-                ", folderId=" + folderId +
-                ", createdAt=" + createdAt +
-                '}';
-    }
-}
+package com.example.cs360inventoryapp.data.models;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Represents an inventory item.
+ * Implements Parcelable to allow passing between activities via Intent extras.
+ * Serializable is kept for existing callers; InventoryCodec provides the same
+ * compact encoding for plain streams.
+ */
+public class InventoryItem implements Serializable, Parcelable {
+
+    /** createdAt value for an item with no creation time. */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private long id;
+    private String name;
+
+    private int quantity;
+    private String description;
+    private String barcode;
+    private String imagePath;
+    private long folderId; // Foreign key to folder
+    private long createdAt; // Epoch milliseconds, or NO_TIMESTAMP
+
+    public InventoryItem() {
+        this.createdAt = System.currentTimeMillis(); // Defaults to current time
+    }
+
+    public InventoryItem(long id, String name, int quantity, String description, String barcode, String imagePath, long folderId, Date createdAt) {
+        this(id, name, quantity, description, barcode, imagePath, folderId,
+                createdAt != null ? createdAt.getTime() : NO_TIMESTAMP);
+    }
+
+    public InventoryItem(long id, String name, int quantity, String description, String barcode, String imagePath, long folderId, long createdAtMillis) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.description = description;
+        this.barcode = barcode;
+        this.imagePath = imagePath;
+        this.folderId = folderId;
+        this.createdAt = createdAtMillis;
+    }
+
+    protected InventoryItem(Parcel in) {
+        id = in.readLong();
+        name = in.readString();
+        quantity = in.readInt();
+        description = in.readString();
+        barcode = in.readString();
+        imagePath = in.readString();
+        folderId = in.readLong();
+        createdAt = in.readLong();
+    }
+
+    public static final Creator<InventoryItem> CREATOR = new Creator<InventoryItem>() {
+        @Override
+        public InventoryItem createFromParcel(Parcel in) {
+            return new InventoryItem(in);
+        }
+
+        @Override
+        public InventoryItem[] newArray(int size) {
+            return new InventoryItem[size];
+        }
+    };
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeLong(id);
+        dest.writeString(name);
+        dest.writeInt(quantity);
+        dest.writeString(description);
+        dest.writeString(barcode);
+        dest.writeString(imagePath);
+        dest.writeLong(folderId);
+        dest.writeLong(createdAt);
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getBarcode() {
+        return barcode;
+    }
+
+    public void setBarcode(String barcode) {
+        this.barcode = barcode;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public void setImagePath(String imagePath) {
+        this.imagePath = imagePath;
+    }
+
+    public long getFolderId() {
+        return folderId;
+    }
+
+    public void setFolderId(long folderId) {
+        this.folderId = folderId;
+    }
+
+    /**
+     * Returns the creation time as a new Date, or null if it is not set.
+     * Each call returns a new copy, so changing the returned Date does not change
+     * the item; use setCreatedAt() or setCreatedAtMillis() for that.
+     * Prefer getCreatedAtMillis() where a Date object is not needed.
+     */
+    public Date getCreatedAt() {
+        return createdAt != NO_TIMESTAMP ? new Date(createdAt) : null;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt != null ? createdAt.getTime() : NO_TIMESTAMP;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAt;
+    }
+
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAt = createdAtMillis;
+    }
+
+    public boolean hasCreatedAt() {
+        return createdAt != NO_TIMESTAMP;
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryItem{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", quantity=" + quantity +
+                ", folderId=" + folderId +
+                ", createdAt=" + getCreatedAt() +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.cs360inventoryapp.data;
+
+import android.database.Cursor;
+
+/**
+ * Maps the rows of a single cursor to model objects. Implementations resolve their
+ * column indices once when created for a cursor, so mapping a row only reads
+ * values by position instead of looking up every column by name.
+ *
+ * @param <T> The model type a row is mapped to
+ */
+interface RowMapper<T> {
+
+    /**
+     * Maps the cursor's current row.
+     */
+    T mapRow(Cursor cursor);
+}